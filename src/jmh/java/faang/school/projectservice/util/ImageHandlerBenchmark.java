@@ -0,0 +1,64 @@
+package faang.school.projectservice.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding the whole image before resizing with subsampled decoding.
+ * Run with {@code ./gradlew jmh}; the gc profiler reports gc.alloc.rate.norm (bytes allocated per resize).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImageHandlerBenchmark {
+
+    @Param({"4000x3000", "8000x6000"})
+    private String resolution;
+
+    private byte[] imageBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] size = resolution.split("x");
+        int width = Integer.parseInt(size[0]);
+        int height = Integer.parseInt(size[1]);
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", outputStream);
+        imageBytes = outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] fullDecode() throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
+        return ImageHandler.changeSize(image, "jpeg", 1080);
+    }
+
+    @Benchmark
+    public byte[] subsampledDecode() throws IOException {
+        BufferedImage image = ImageHandler.readSubsampled(imageBytes, 1080);
+        return ImageHandler.changeSize(image, "jpeg", 1080);
+    }
+}
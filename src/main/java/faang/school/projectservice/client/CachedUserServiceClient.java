@@ -0,0 +1,218 @@
+package faang.school.projectservice.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import faang.school.projectservice.config.context.UserContext;
+import faang.school.projectservice.dto.client.UserDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Read-through facade over {@link UserServiceClient}. Looked up users are kept in a bounded
+ * near cache (unknown ids are cached for a shorter time), concurrent lookups of the same id
+ * share one in-flight request, and misses that arrive within {@code batch-window} are sent
+ * to user-service as a single {@code getUsersByIds} call.
+ */
+@Slf4j
+@Component
+public class CachedUserServiceClient {
+
+    private final UserServiceClient userServiceClient;
+    private final UserContext userContext;
+    private final Cache<Long, Optional<UserDto>> cache;
+    private final DistributionSummary batchSizeSummary;
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+    private final Duration requestTimeout;
+    private final ScheduledExecutorService batchExecutor;
+
+    private final Map<Long, CompletableFuture<Optional<UserDto>>> inFlight = new ConcurrentHashMap<>();
+    private final Object batchLock = new Object();
+    private Set<Long> pendingIds = new LinkedHashSet<>();
+    private Long batchOwnerId;
+
+    @Autowired
+    public CachedUserServiceClient(UserServiceClient userServiceClient,
+                                   UserContext userContext,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${services.user-service.cache.max-size:50000}") long maxSize,
+                                   @Value("${services.user-service.cache.ttl:10m}") Duration ttl,
+                                   @Value("${services.user-service.cache.negative-ttl:30s}") Duration negativeTtl,
+                                   @Value("${services.user-service.cache.batch-window:10ms}") Duration batchWindow,
+                                   @Value("${services.user-service.cache.max-batch-size:100}") int maxBatchSize,
+                                   @Value("${services.user-service.cache.request-timeout:5s}") Duration requestTimeout) {
+        this(userServiceClient, userContext, meterRegistry, maxSize, ttl, negativeTtl, batchWindow, maxBatchSize,
+                requestTimeout, Executors.newScheduledThreadPool(2));
+    }
+
+    CachedUserServiceClient(UserServiceClient userServiceClient, UserContext userContext, MeterRegistry meterRegistry,
+                            long maxSize, Duration ttl, Duration negativeTtl, Duration batchWindow, int maxBatchSize,
+                            Duration requestTimeout, ScheduledExecutorService batchExecutor) {
+        this.userServiceClient = userServiceClient;
+        this.userContext = userContext;
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = maxBatchSize;
+        this.requestTimeout = requestTimeout;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UserExpiry(ttl, negativeTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userServiceClient");
+        this.batchSizeSummary = DistributionSummary.builder("user_service.client.batch.size")
+                .description("Number of user ids sent in one getUsersByIds call")
+                .register(meterRegistry);
+        this.batchExecutor = batchExecutor;
+    }
+
+    public UserDto getUser(long userId) {
+        return await(lookup(List.of(userId)).get(userId))
+                .orElseThrow(() -> new EntityNotFoundException("User with id " + userId + " not found"));
+    }
+
+    public List<UserDto> getUsersByIds(List<Long> ids) {
+        Map<Long, CompletableFuture<Optional<UserDto>>> futures = lookup(ids);
+        List<UserDto> users = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            await(futures.get(id)).ifPresent(users::add);
+        }
+        return users;
+    }
+
+    public void evict(long userId) {
+        cache.invalidate(userId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdown();
+    }
+
+    private Map<Long, CompletableFuture<Optional<UserDto>>> lookup(List<Long> ids) {
+        Map<Long, CompletableFuture<Optional<UserDto>>> futures = new HashMap<>();
+        for (Long id : ids) {
+            Optional<UserDto> cached = cache.getIfPresent(id);
+            if (cached != null) {
+                futures.put(id, CompletableFuture.completedFuture(cached));
+                continue;
+            }
+            futures.put(id, inFlight.computeIfAbsent(id, this::enqueue));
+        }
+        return futures;
+    }
+
+    private CompletableFuture<Optional<UserDto>> enqueue(Long id) {
+        CompletableFuture<Optional<UserDto>> future = new CompletableFuture<>();
+        synchronized (batchLock) {
+            boolean firstInBatch = pendingIds.isEmpty();
+            pendingIds.add(id);
+            if (firstInBatch) {
+                batchOwnerId = userContext.hasUserId() ? userContext.getUserId() : null;
+                batchExecutor.schedule(this::flush, batchWindow.toMillis(), TimeUnit.MILLISECONDS);
+            } else if (pendingIds.size() >= maxBatchSize) {
+                batchExecutor.execute(this::flush);
+            }
+        }
+        return future;
+    }
+
+    private void flush() {
+        Set<Long> ids;
+        Long ownerId;
+        synchronized (batchLock) {
+            if (pendingIds.isEmpty()) {
+                return;
+            }
+            ids = pendingIds;
+            ownerId = batchOwnerId;
+            pendingIds = new LinkedHashSet<>();
+            batchOwnerId = null;
+        }
+        batchSizeSummary.record(ids.size());
+
+        try {
+            // user-service requires x-user-id, so the batch is sent on behalf of the caller that opened it
+            if (ownerId != null) {
+                userContext.setUserId(ownerId);
+            }
+            Map<Long, UserDto> found = new HashMap<>();
+            userServiceClient.getUsersByIds(new ArrayList<>(ids)).forEach(user -> found.put(user.getId(), user));
+            for (Long id : ids) {
+                Optional<UserDto> user = Optional.ofNullable(found.get(id));
+                cache.put(id, user);
+                complete(id, future -> future.complete(user));
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to load users {} from user-service", ids, e);
+            ids.forEach(id -> complete(id, future -> future.completeExceptionally(e)));
+        } finally {
+            userContext.clear();
+        }
+    }
+
+    private void complete(Long id, Consumer<CompletableFuture<Optional<UserDto>>> action) {
+        CompletableFuture<Optional<UserDto>> future = inFlight.remove(id);
+        if (future != null) {
+            action.accept(future);
+        }
+    }
+
+    private Optional<UserDto> await(CompletableFuture<Optional<UserDto>> future) {
+        try {
+            return future.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to load user from user-service", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for user-service", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for user-service", e);
+        }
+    }
+
+    private record UserExpiry(Duration ttl, Duration negativeTtl) implements Expiry<Long, Optional<UserDto>> {
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<UserDto> value, long currentTime) {
+            return value.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<UserDto> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<UserDto> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -11,6 +11,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class S3Config {
     @Value("${services.s3.accessKey}")
@@ -25,6 +30,9 @@ public class S3Config {
     @Value("${services.s3.endpoint}")
     private String endpoint;
 
+    @Value("${services.s3.multipart.parallelism:4}")
+    private int uploadParallelism;
+
     @Bean(name = "clientAmazonS3")
     public AmazonS3 amazons3() {
         AWSCredentials awsCredentials = new BasicAWSCredentials(accessKey, secretKey);
@@ -41,4 +49,10 @@ public class S3Config {
 
         return clientAmazonS3;
     }
+
+    @Bean(name = "s3UploadExecutor", destroyMethod = "shutdown")
+    public ExecutorService s3UploadExecutor() {
+        return new ThreadPoolExecutor(uploadParallelism, uploadParallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(uploadParallelism), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
 }
@@ -15,6 +15,10 @@ public class UserContext {
         return userIdHolder.get();
     }
 
+    public boolean hasUserId() {
+        return userIdHolder.get() != null;
+    }
+
     public void clear() {
         userIdHolder.remove();
     }
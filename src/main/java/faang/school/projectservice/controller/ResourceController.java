@@ -2,12 +2,17 @@ package faang.school.projectservice.controller;
 
 import faang.school.projectservice.config.context.UserContext;
 import faang.school.projectservice.dto.client.ResourceDto;
+import faang.school.projectservice.dto.resource.PresignedUploadRequestDto;
+import faang.school.projectservice.dto.resource.PresignedUrlDto;
+import faang.school.projectservice.dto.resource.ResourceUploadCompletionDto;
 import faang.school.projectservice.service.ResourceService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-
-import java.io.InputStream;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -21,6 +26,23 @@ public class ResourceController {
         return resourceService.addResource(projectId, multipartFile, userContext.getUserId());
     }
 
+    @PostMapping("{projectId}/upload-url")
+    public PresignedUrlDto createUploadUrl(@PathVariable Long projectId,
+                                           @Valid @RequestBody PresignedUploadRequestDto request) {
+        return resourceService.createUploadUrl(projectId, request, userContext.getUserId());
+    }
+
+    @PostMapping("{projectId}/upload-complete")
+    public ResourceDto completeUpload(@PathVariable Long projectId,
+                                      @Valid @RequestBody ResourceUploadCompletionDto completion) {
+        return resourceService.completeUpload(projectId, completion, userContext.getUserId());
+    }
+
+    @GetMapping("/{resourceId}/download-url")
+    public PresignedUrlDto createDownloadUrl(@PathVariable Long resourceId) {
+        return resourceService.createDownloadUrl(resourceId);
+    }
+
     @PostMapping("/{resourceId}")
     public ResourceDto updateResource(@PathVariable Long resourceId, @RequestBody MultipartFile multipartFile) {
         return resourceService.updateResource(resourceId, multipartFile, userContext.getUserId());
@@ -32,8 +54,9 @@ public class ResourceController {
     }
 
     @GetMapping("/{resourceId}")
-    public InputStream downloadResource(@PathVariable Long resourceId) {
-        return resourceService.downloadResource(resourceId);
+    public ResponseEntity<StreamingResponseBody> downloadResource(@PathVariable Long resourceId,
+                                                                  @RequestHeader HttpHeaders headers) {
+        return resourceService.downloadResource(resourceId, headers);
     }
 
 }
@@ -1,12 +1,16 @@
 package faang.school.projectservice.controller;
 
 import faang.school.projectservice.dto.StageInvitationDto;
+import faang.school.projectservice.dto.StageInvitationViewDto;
 import faang.school.projectservice.service.StageInvitationService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -23,26 +27,28 @@ public class StageInvitationController {
     private final StageInvitationService stageInvitationService;
 
     @PostMapping
-    public StageInvitationDto createInvitation(@RequestBody @NonNull StageInvitationDto stageInvitationDto) {
+    public StageInvitationViewDto createInvitation(@RequestBody @NonNull StageInvitationDto stageInvitationDto) {
         return stageInvitationService.create(stageInvitationDto);
     }
 
     @PutMapping
-    public StageInvitationDto acceptInvitation(@RequestParam("userId") @NonNull Long userId,
+    public StageInvitationViewDto acceptInvitation(@RequestParam("userId") @NonNull Long userId,
                                                @RequestParam("invitationId") @NonNull Long invitationId) {
         return stageInvitationService.accept(userId, invitationId);
     }
 
     @DeleteMapping
-    public StageInvitationDto rejectInvitation(@RequestParam("userId") @NonNull Long userId,
+    public StageInvitationViewDto rejectInvitation(@RequestParam("userId") @NonNull Long userId,
                                                @RequestParam("invitationId") @NonNull Long invitationId,
                                                @RequestParam("description") @NonNull String description) {
         return stageInvitationService.reject(userId, invitationId, description);
     }
 
     @GetMapping("/{id}")
-    public List<StageInvitationDto> getAllInvitation(@NonNull Long id, @RequestBody @NonNull StageInvitationDto filter) {
-        return stageInvitationService.getAll(id, filter);
+    public List<StageInvitationViewDto> getAllInvitation(@PathVariable @NonNull Long id,
+                                                         @RequestBody(required = false) StageInvitationDto filter,
+                                                         @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return stageInvitationService.getAll(id, filter, pageable);
     }
 
 }
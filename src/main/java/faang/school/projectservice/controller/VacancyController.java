@@ -1,8 +1,11 @@
 package faang.school.projectservice.controller;
 
 import faang.school.projectservice.dto.client.VacancyDto;
+import faang.school.projectservice.dto.client.VacancySearchDto;
 import faang.school.projectservice.service.VacancyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -37,9 +40,15 @@ public class VacancyController {
     }
 
     @GetMapping()
-    public List<VacancyDto> getVacanciesWithFilters(@RequestParam("name") String name,
-                                                    @RequestParam("position") String position) {
-        return vacancyService.getVacanciesWithFilters(name, position);
+    public List<VacancyDto> getVacanciesWithFilters(@RequestParam(value = "name", required = false) String name,
+                                                    @RequestParam(value = "position", required = false) String position,
+                                                    @PageableDefault(size = 20) Pageable pageable) {
+        return vacancyService.getVacanciesWithFilters(name, position, pageable);
+    }
+
+    @GetMapping("/search")
+    public List<VacancyDto> searchVacancies(VacancySearchDto filter, @PageableDefault(size = 20) Pageable pageable) {
+        return vacancyService.searchVacancies(filter, pageable);
     }
 
     @GetMapping("/{id}")
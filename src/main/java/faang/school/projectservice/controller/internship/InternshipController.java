@@ -11,6 +11,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -88,24 +90,26 @@ public class InternshipController {
             summary = "Получить все стажировки проекта с фильтрами по статусу"
     )
     @GetMapping("/filter/status")
-    public List<InternshipDto> getInternshipByStatus(@RequestBody InternshipFilterDto filter) {
-        return internshipService.getInternshipByStatus(filter);
+    public List<InternshipDto> getInternshipByStatus(@RequestBody InternshipFilterDto filter,
+                                                     @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return internshipService.getInternshipByStatus(filter, pageable);
     }
 
     @Operation(
             summary = "Получить все стажировки проекта с фильтрами по роли стажеров"
     )
     @GetMapping("/filter/{role}")
-    public List<InternshipDto> getInternshipByRole(InternshipFilterDto id, @PathVariable TeamRole role) {
-        return internshipService.getInternshipByRole(id, role);
+    public List<InternshipDto> getInternshipByRole(InternshipFilterDto filter, @PathVariable TeamRole role,
+                                                   @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return internshipService.getInternshipByRole(filter, role, pageable);
     }
 
     @Operation(
             summary = "Получить все стажировки"
     )
     @GetMapping("/all")
-    public List<InternshipDto> getAllInternship() {
-        return internshipService.getAllInternship();
+    public List<InternshipDto> getAllInternship(@PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return internshipService.getAllInternship(pageable);
     }
 
     @Operation(
@@ -2,15 +2,20 @@ package faang.school.projectservice.controller.project;
 
 import faang.school.projectservice.dto.project.ProjectDto;
 import faang.school.projectservice.dto.project.ProjectFilterDto;
+import faang.school.projectservice.dto.project.ProjectPageDto;
 import faang.school.projectservice.service.project.ProjectService;
 import faang.school.projectservice.validation.ValidationGroups;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -37,14 +42,36 @@ public class ProjectController {
         return new ResponseEntity<>(projectService.getAll(), HttpStatus.OK);
     }
 
+    @GetMapping("/all/page")
+    ResponseEntity<ProjectPageDto> getPage(
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String pageToken) {
+        return new ResponseEntity<>(projectService.getPage(null, size, pageToken), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/all/stream", produces = "application/x-ndjson")
+    void streamAll(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        projectService.streamAll(response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     ResponseEntity<ProjectDto> findById(@PathVariable Long id) {
         return new ResponseEntity<>(projectService.findById(id), HttpStatus.OK);
     }
 
     @GetMapping("/all/filter")
-    ResponseEntity<List<ProjectDto>> filteredProjects(@RequestBody(required = false) ProjectFilterDto filterDto) {
-        return new ResponseEntity<>(projectService.getAllByFilter(filterDto), HttpStatus.OK);
+    ResponseEntity<List<ProjectDto>> filteredProjects(@RequestBody(required = false) ProjectFilterDto filterDto,
+                                                      @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return new ResponseEntity<>(projectService.getAllByFilter(filterDto, pageable), HttpStatus.OK);
+    }
+
+    @GetMapping("/all/filter/page")
+    ResponseEntity<ProjectPageDto> filteredPage(
+            @RequestBody(required = false) ProjectFilterDto filterDto,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String pageToken) {
+        return new ResponseEntity<>(projectService.getPage(filterDto, size, pageToken), HttpStatus.OK);
     }
 
 }
@@ -43,4 +43,11 @@ public class SubProjectController {
         log.info("Запрос на поиск подпроекта, у проекта с id: {}.", projectId);
         return projectService.getFilteredSubProjects(projectId, projectFilterDto);
     }
+
+    @GetMapping("/{projectId}/descendants")
+    public List<ProjectDto> getDescendants(
+            @PathVariable @Positive(message = "Id проекта должен быть положительным числом") Long projectId) {
+        log.info("Запрос на получение всех подпроектов проекта с id: {}.", projectId);
+        return projectService.getDescendants(projectId);
+    }
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package faang.school.projectservice.controller.resource;
 
+import faang.school.projectservice.dto.client.ResourceDto;
 import faang.school.projectservice.service.resource.ResourceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/resources")
@@ -15,9 +18,20 @@ public class ImgResourceController {
     private final ResourceService resourceService;
 
     @PostMapping("/{projectId}/add-cover-image")
-    ResponseEntity<String> addCoveringImage(@RequestParam("file") MultipartFile file, @PathVariable Long projectId) {
-        resourceService.addCoveringImageToProject(file, projectId);
-        return new ResponseEntity<>("The cover image added successfully", HttpStatus.OK);
+    ResponseEntity<ResourceDto> addCoveringImage(@RequestParam("file") MultipartFile file, @PathVariable Long projectId) {
+        return new ResponseEntity<>(resourceService.addCoveringImageToProject(file, projectId), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{resourceId}/status")
+    ResponseEntity<ResourceDto> getCoveringImageStatus(@PathVariable Long resourceId) {
+        return new ResponseEntity<>(resourceService.getResource(resourceId), HttpStatus.OK);
+    }
+
+    @GetMapping("/{resourceId}/rendition")
+    ResponseEntity<StreamingResponseBody> getCoveringImageRendition(@PathVariable Long resourceId,
+                                                                    @RequestParam(defaultValue = "1080") int size,
+                                                                    @RequestHeader HttpHeaders headers) {
+        return resourceService.getCoveringImageRendition(resourceId, size, headers);
     }
 
 }
@@ -0,0 +1,26 @@
+package faang.school.projectservice.dto;
+
+import faang.school.projectservice.model.stage_invitation.StageInvitationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat view of an invitation: only the ids and names a listing needs, without the stage and team member graphs.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StageInvitationViewDto {
+    private Long id;
+    private String description;
+    private StageInvitationStatus status;
+    private Long stageId;
+    private String stageName;
+    private Long authorId;
+    private Long authorUserId;
+    private Long invitedId;
+    private Long invitedUserId;
+}
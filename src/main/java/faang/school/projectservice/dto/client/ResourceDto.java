@@ -1,5 +1,6 @@
 package faang.school.projectservice.dto.client;
 
+import faang.school.projectservice.model.ResourceStatus;
 import faang.school.projectservice.validation.ValidationGroups;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -25,6 +26,7 @@ public class ResourceDto {
     @NotBlank(message = "Resource's 'key' can't be empty", groups = {ValidationGroups.Update.class})
     private String key;
     private BigInteger size;
+    private ResourceStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     @NotNull(message = "Project's 'id' can not be null", groups = {ValidationGroups.Create.class, ValidationGroups.Update.class})
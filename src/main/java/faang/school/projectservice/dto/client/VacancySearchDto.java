@@ -0,0 +1,20 @@
+package faang.school.projectservice.dto.client;
+
+import faang.school.projectservice.model.VacancyStatus;
+import faang.school.projectservice.model.WorkSchedule;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class VacancySearchDto {
+    private String query;
+    private VacancyStatus status;
+    private WorkSchedule workSchedule;
+    private Double minSalary;
+    private Double maxSalary;
+}
@@ -0,0 +1,7 @@
+package faang.school.projectservice.dto.internship;
+
+public interface InternOutcome {
+    Long getTeamMemberId();
+
+    Long getOpenTasks();
+}
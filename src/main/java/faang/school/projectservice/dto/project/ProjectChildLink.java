@@ -0,0 +1,7 @@
+package faang.school.projectservice.dto.project;
+
+public interface ProjectChildLink {
+    Long getParentProjectId();
+
+    Long getId();
+}
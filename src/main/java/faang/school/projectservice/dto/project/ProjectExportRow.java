@@ -0,0 +1,26 @@
+package faang.school.projectservice.dto.project;
+
+import faang.school.projectservice.model.ProjectStatus;
+import faang.school.projectservice.model.ProjectVisibility;
+
+import java.time.LocalDateTime;
+
+public interface ProjectExportRow {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Long getParentProjectId();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    ProjectStatus getStatus();
+
+    ProjectVisibility getVisibility();
+
+    Long getOwnerId();
+}
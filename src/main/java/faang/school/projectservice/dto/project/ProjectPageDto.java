@@ -0,0 +1,17 @@
+package faang.school.projectservice.dto.project;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectPageDto {
+    private List<ProjectDto> content;
+    private String nextPageToken;
+}
@@ -0,0 +1,16 @@
+package faang.school.projectservice.dto.project;
+
+import faang.school.projectservice.model.ProjectStatus;
+import faang.school.projectservice.model.ProjectVisibility;
+
+public interface ProjectTreeNode {
+    Long getId();
+
+    Long getParentProjectId();
+
+    ProjectStatus getStatus();
+
+    ProjectVisibility getVisibility();
+
+    Integer getDepth();
+}
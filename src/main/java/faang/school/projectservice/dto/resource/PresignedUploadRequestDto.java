@@ -0,0 +1,22 @@
+package faang.school.projectservice.dto.resource;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PresignedUploadRequestDto {
+    @NotBlank(message = "File name can not be empty")
+    private String fileName;
+    private String contentType;
+    @NotNull(message = "File size can not be null")
+    @Positive(message = "File size should be greater than zero")
+    private Long size;
+}
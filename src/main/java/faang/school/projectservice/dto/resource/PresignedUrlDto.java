@@ -0,0 +1,18 @@
+package faang.school.projectservice.dto.resource;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PresignedUrlDto {
+    private String key;
+    private String url;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,18 @@
+package faang.school.projectservice.dto.resource;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResourceUploadCompletionDto {
+    @NotBlank(message = "Resource's 'key' can't be empty")
+    private String key;
+    @NotBlank(message = "Resource's 'name' can not be empty")
+    private String name;
+}
@@ -0,0 +1,7 @@
+package faang.school.projectservice.exceptions;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -2,11 +2,10 @@ package faang.school.projectservice.filter.internship;
 
 import faang.school.projectservice.dto.internship.InternshipFilterDto;
 import faang.school.projectservice.model.Internship;
-
-import java.util.stream.Stream;
+import org.springframework.data.jpa.domain.Specification;
 
 public interface InternshipFilter {
     boolean isApplicable(InternshipFilterDto internshipFilterDto);
 
-    Stream<Internship> apply(Stream<Internship> internshipStream, InternshipFilterDto internshipFilterDto);
+    Specification<Internship> toSpecification(InternshipFilterDto internshipFilterDto);
 }
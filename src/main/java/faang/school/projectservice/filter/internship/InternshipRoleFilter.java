@@ -3,13 +3,19 @@ package faang.school.projectservice.filter.internship;
 import faang.school.projectservice.dto.internship.InternshipFilterDto;
 import faang.school.projectservice.model.Internship;
 import faang.school.projectservice.model.TeamMember;
-import faang.school.projectservice.repository.TeamMemberRepository;
+import faang.school.projectservice.model.TeamRole;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
-import java.util.stream.Stream;
+/**
+ * Internships that have at least one intern with the given role. Written as EXISTS so that an
+ * internship with several matching interns is still returned once per page.
+ */
 @Component
 public class InternshipRoleFilter implements InternshipFilter {
-    private TeamMemberRepository teamMemberRepository;
 
     @Override
     public boolean isApplicable(InternshipFilterDto internshipFilterDto) {
@@ -17,8 +23,15 @@ public class InternshipRoleFilter implements InternshipFilter {
     }
 
     @Override
-    public Stream<Internship> apply(Stream<Internship> internshipStream, InternshipFilterDto internshipFilterDto) {
-        return internshipStream.filter(internship -> internship.getInterns().contains(internshipFilterDto.getRole()));
-     //  return internshipStream.filter(internship -> internship.getInterns().stream().anyMatch(intern -> intern.getRoles().contains(internshipFilterDto.getRole())));
+    public Specification<Internship> toSpecification(InternshipFilterDto internshipFilterDto) {
+        TeamRole role = internshipFilterDto.getRole();
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Internship> internship = subquery.correlate(root);
+            Join<Internship, TeamMember> intern = internship.join("interns");
+            Join<TeamMember, TeamRole> roles = intern.join("roles");
+            subquery.select(intern.get("id")).where(cb.equal(roles, role));
+            return cb.exists(subquery);
+        };
     }
 }
@@ -2,10 +2,10 @@ package faang.school.projectservice.filter.internship;
 
 import faang.school.projectservice.dto.internship.InternshipFilterDto;
 import faang.school.projectservice.model.Internship;
+import faang.school.projectservice.model.InternshipStatus;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
-import java.util.stream.Stream;
-
 @Component
 public class InternshipStatusFilter implements InternshipFilter {
     @Override
@@ -14,7 +14,8 @@ public class InternshipStatusFilter implements InternshipFilter {
     }
 
     @Override
-    public Stream<Internship> apply(Stream<Internship> internshipStream, InternshipFilterDto internshipFilterDto) {
-        return internshipStream.filter(internship -> internship.getStatus().equals(internshipFilterDto.getStatus()));
+    public Specification<Internship> toSpecification(InternshipFilterDto internshipFilterDto) {
+        InternshipStatus status = internshipFilterDto.getStatus();
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
     }
 }
@@ -2,11 +2,21 @@ package faang.school.projectservice.filter.project;
 
 import faang.school.projectservice.dto.project.ProjectFilterDto;
 import faang.school.projectservice.model.Project;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Optional;
 import java.util.stream.Stream;
 
 public interface ProjectFilter {
     boolean isApplicable(ProjectFilterDto projectFilterDto);
 
     Stream<Project> apply(Stream<Project> projects, ProjectFilterDto projectFilterDto);
-}
\ No newline at end of file
+
+    /**
+     * Returns the filter as a database predicate. Filters that cannot be expressed in SQL
+     * return an empty Optional and are applied in memory through {@link #apply}.
+     */
+    default Optional<Specification<Project>> toSpecification(ProjectFilterDto projectFilterDto) {
+        return Optional.empty();
+    }
+}
@@ -2,8 +2,10 @@ package faang.school.projectservice.filter.project;
 
 import faang.school.projectservice.dto.project.ProjectFilterDto;
 import faang.school.projectservice.model.Project;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
 import java.util.stream.Stream;
 
 @Component
@@ -17,4 +19,10 @@ public class ProjectNameFilter implements ProjectFilter {
     public Stream<Project> apply(Stream<Project> projects, ProjectFilterDto projectFilterDto) {
         return projects.filter(project -> project.getName().equalsIgnoreCase(projectFilterDto.getName()));
     }
+
+    @Override
+    public Optional<Specification<Project>> toSpecification(ProjectFilterDto projectFilterDto) {
+        String name = projectFilterDto.getName().toLowerCase();
+        return Optional.of((root, query, cb) -> cb.equal(cb.lower(root.get("name")), name));
+    }
 }
@@ -2,13 +2,12 @@ package faang.school.projectservice.filters.stageinvitation;
 
 import faang.school.projectservice.dto.StageInvitationDto;
 import faang.school.projectservice.model.stage_invitation.StageInvitation;
-
-import java.util.stream.Stream;
+import org.springframework.data.jpa.domain.Specification;
 
 public interface StageInvitationFilter {
 
     boolean isApplicable(StageInvitationDto stageInvitationDto);
 
-    Stream<StageInvitation> apply(Stream<StageInvitation> stageInvitationStream, StageInvitationDto stageInvitationDto);
+    Specification<StageInvitation> toSpecification(StageInvitationDto stageInvitationDto);
 
 }
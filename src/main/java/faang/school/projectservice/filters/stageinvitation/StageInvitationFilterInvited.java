@@ -2,10 +2,9 @@ package faang.school.projectservice.filters.stageinvitation;
 
 import faang.school.projectservice.dto.StageInvitationDto;
 import faang.school.projectservice.model.stage_invitation.StageInvitation;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
-import java.util.stream.Stream;
-
 @Component
 public class StageInvitationFilterInvited implements StageInvitationFilter {
     @Override
@@ -14,7 +13,8 @@ public class StageInvitationFilterInvited implements StageInvitationFilter {
     }
 
     @Override
-    public Stream<StageInvitation> apply(Stream<StageInvitation> stageInvitationStream, StageInvitationDto stageInvitationDto) {
-        return stageInvitationStream.filter(stageInvitation -> stageInvitation.getInvited().equals(stageInvitationDto.getInvited()));
+    public Specification<StageInvitation> toSpecification(StageInvitationDto stageInvitationDto) {
+        Long invitedId = stageInvitationDto.getInvited().getId();
+        return (root, query, cb) -> cb.equal(root.get("invited").get("id"), invitedId);
     }
 }
@@ -2,10 +2,9 @@ package faang.school.projectservice.filters.stageinvitation;
 
 import faang.school.projectservice.dto.StageInvitationDto;
 import faang.school.projectservice.model.stage_invitation.StageInvitation;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
-import java.util.stream.Stream;
-
 @Component
 public class StageInvitationFilterStatus implements StageInvitationFilter {
     @Override
@@ -14,7 +13,7 @@ public class StageInvitationFilterStatus implements StageInvitationFilter {
     }
 
     @Override
-    public Stream<StageInvitation> apply(Stream<StageInvitation> stageInvitationStream, StageInvitationDto stageInvitationDto) {
-        return stageInvitationStream.filter(stageInvitation -> stageInvitation.getStatus().equals(stageInvitationDto.getStatus()));
+    public Specification<StageInvitation> toSpecification(StageInvitationDto stageInvitationDto) {
+        return (root, query, cb) -> cb.equal(root.get("status"), stageInvitationDto.getStatus());
     }
 }
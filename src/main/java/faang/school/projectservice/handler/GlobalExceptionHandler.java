@@ -1,5 +1,6 @@
 package faang.school.projectservice.handler;
 
+import faang.school.projectservice.exceptions.ConflictException;
 import faang.school.projectservice.exceptions.DBException;
 import faang.school.projectservice.exceptions.FileException;
 import faang.school.projectservice.exceptions.S3Exception;
@@ -16,6 +17,7 @@ import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -31,8 +33,8 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
-    @ExceptionHandler(DataValidationException.class)
-    public ResponseEntity<Object> handleDataValidation(DataValidationException ex) {
+    @ExceptionHandler({DataValidationException.class, faang.school.projectservice.exception.DataValidationException.class})
+    public ResponseEntity<Object> handleDataValidation(RuntimeException ex) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
@@ -61,9 +63,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Object> handleConflict(ConflictException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(S3Exception.class)
     public ResponseEntity<Object> handleS3Exception(S3Exception ex) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Object> handleRejectedExecution(RejectedExecutionException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
 }
@@ -0,0 +1,57 @@
+package faang.school.projectservice.jpa;
+
+import faang.school.projectservice.model.JobCheckpoint;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Progress of long-running background jobs. A job takes a time-limited lease on its row before running,
+ * so only one instance works at a time and a crashed instance does not block the job forever.
+ * The native statements declare job_checkpoint as their query space; without it Hibernate would treat
+ * every checkpoint as touching all tables and clear the whole second-level cache.
+ */
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    /**
+     * @return the saved position (a single null element when the job starts from scratch),
+     * or an empty list when another instance holds the lease
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "job_checkpoint"))
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO job_checkpoint (job_name, locked_until)
+            VALUES (:jobName, now() + make_interval(secs => :leaseSeconds))
+            ON CONFLICT (job_name) DO UPDATE SET locked_until = EXCLUDED.locked_until
+            WHERE job_checkpoint.locked_until IS NULL OR job_checkpoint.locked_until < now()
+            RETURNING position
+            """)
+    List<String> acquireLease(String jobName, long leaseSeconds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "job_checkpoint"))
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE job_checkpoint
+            SET position = :position, locked_until = now() + make_interval(secs => :leaseSeconds), updated_at = now()
+            WHERE job_name = :jobName
+            """)
+    int savePosition(String jobName, String position, long leaseSeconds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "job_checkpoint"))
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE job_checkpoint SET locked_until = NULL
+            WHERE job_name = :jobName
+            """)
+    int releaseLease(String jobName);
+}
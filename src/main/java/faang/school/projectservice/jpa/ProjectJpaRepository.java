@@ -1,17 +1,125 @@
 package faang.school.projectservice.jpa;
 
+import faang.school.projectservice.dto.project.ProjectChildLink;
+import faang.school.projectservice.dto.project.ProjectExportRow;
+import faang.school.projectservice.dto.project.ProjectTreeNode;
 import faang.school.projectservice.model.Project;
+import faang.school.projectservice.model.ProjectStatus;
+import faang.school.projectservice.model.ProjectVisibility;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProjectJpaRepository extends JpaRepository<Project, Long> {
+public interface ProjectJpaRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
     @Query(
             "SELECT CASE WHEN COUNT(p) > 0 THEN TRUE ELSE FALSE END " +
                     "FROM Project p " +
                     "WHERE p.ownerId = :ownerId AND p.name = :name"
     )
     boolean existsByOwnerIdAndName(Long ownerId, String name);
-}
 
+    @EntityGraph("Project.children")
+    Optional<Project> findWithChildrenById(Long id);
+
+    @Query(nativeQuery = true, value = """
+            SELECT p.id, p.parent_project_id AS "parentProjectId", p.status, p.visibility, c.depth
+            FROM project_closure c
+            JOIN project p ON p.id = c.descendant_id
+            WHERE c.ancestor_id = :projectId AND c.depth > 0
+            ORDER BY c.depth, p.id
+            """)
+    List<ProjectTreeNode> findDescendants(long projectId);
+
+    @Query(nativeQuery = true, value = """
+            SELECT p.*
+            FROM project_closure c
+            JOIN project p ON p.id = c.descendant_id
+            WHERE c.ancestor_id = :projectId AND c.depth > 0
+            ORDER BY c.depth, p.id
+            """)
+    List<Project> findDescendantProjects(long projectId);
+
+    @Query(nativeQuery = true, value = """
+            SELECT c.ancestor_id
+            FROM project_closure c
+            WHERE c.descendant_id = :projectId AND c.depth > 0
+            ORDER BY c.depth
+            """)
+    List<Long> findAncestorIds(long projectId);
+
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE project SET visibility = :#{#visibility.name()}, updated_at = now()
+            WHERE id IN (SELECT descendant_id FROM project_closure WHERE ancestor_id = :projectId AND depth > 0)
+              AND visibility <> :#{#visibility.name()}
+            RETURNING id
+            """)
+    List<Long> updateDescendantsVisibility(long projectId, ProjectVisibility visibility);
+
+    /**
+     * Finished descendants keep their status; only open subprojects follow the new one.
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE project SET status = :#{#status.name()}, updated_at = now()
+            WHERE id IN (SELECT descendant_id FROM project_closure WHERE ancestor_id = :projectId AND depth > 0)
+              AND status <> :#{#status.name()}
+              AND status NOT IN ('COMPLETED', 'CANCELLED')
+            RETURNING id
+            """)
+    List<Long> updateDescendantsStatus(long projectId, ProjectStatus status);
+
+    /**
+     * Runs as a query rather than a {@code @Modifying} statement, so Hibernate does not clear the
+     * project cache region; the caller evicts the returned id after commit.
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE project SET storage_size = COALESCE(storage_size, 0) + :bytes
+            WHERE id = :projectId
+              AND (max_storage_size IS NULL OR COALESCE(storage_size, 0) + :bytes <= max_storage_size)
+            RETURNING id
+            """)
+    List<Long> reserveStorage(long projectId, long bytes);
+
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE project SET storage_size = GREATEST(COALESCE(storage_size, 0) - :bytes, 0)
+            WHERE id = :projectId
+            RETURNING id
+            """)
+    List<Long> releaseStorage(long projectId, long bytes);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT p.id AS id, p.name AS name, p.description AS description, p.parentProject.id AS parentProjectId,
+                   p.createdAt AS createdAt, p.updatedAt AS updatedAt, p.status AS status,
+                   p.visibility AS visibility, p.ownerId AS ownerId
+            FROM Project p
+            ORDER BY p.id
+            """)
+    Stream<ProjectExportRow> streamAll();
+
+    @Query("""
+            SELECT c.parentProject.id AS parentProjectId, c.id AS id
+            FROM Project c
+            WHERE c.parentProject.id IN :parentIds
+            ORDER BY c.id
+            """)
+    List<ProjectChildLink> findChildLinks(Collection<Long> parentIds);
+}
@@ -1,10 +1,30 @@
 package faang.school.projectservice.jpa;
 
 import faang.school.projectservice.model.Resource;
+import faang.school.projectservice.model.ResourceStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ResourceRepository extends JpaRepository<Resource, Long> {
 
+    boolean existsByKey(String key);
+
+    boolean existsByKeyStartingWith(String prefix);
+
+    boolean existsByProjectIdAndContentHashAndStatus(Long projectId, String contentHash, ResourceStatus status);
+
+    boolean existsByProjectIdAndContentHashAndStatusAndIdNot(Long projectId, String contentHash,
+                                                             ResourceStatus status, Long id);
+
+    @Query(nativeQuery = true, value = """
+            SELECT key FROM resource
+            WHERE key IS NOT NULL AND key COLLATE "C" > :after
+            ORDER BY key COLLATE "C"
+            LIMIT :limit
+            """)
+    List<String> findKeysAfter(String after, int limit);
 }
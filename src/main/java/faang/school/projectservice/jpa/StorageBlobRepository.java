@@ -0,0 +1,61 @@
+package faang.school.projectservice.jpa;
+
+import faang.school.projectservice.model.StorageBlob;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StorageBlobRepository extends JpaRepository<StorageBlob, String> {
+
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO storage_blob (hash, key, size, ref_count)
+            VALUES (:hash, :key, :size, 1)
+            ON CONFLICT (hash) DO UPDATE SET ref_count = storage_blob.ref_count + 1, updated_at = now()
+            RETURNING ref_count
+            """)
+    int acquire(String hash, String key, long size);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "storage_blob"))
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE storage_blob SET ref_count = GREATEST(ref_count - 1, 0), updated_at = now()
+            WHERE hash = :hash
+            """)
+    int release(String hash);
+
+    @Query(nativeQuery = true, value = """
+            SELECT hash FROM storage_blob
+            WHERE ref_count = 0 AND updated_at < now() - make_interval(secs => :gracePeriodSeconds)
+            ORDER BY updated_at
+            LIMIT :limit
+            """)
+    List<String> findUnreferenced(long gracePeriodSeconds, int limit);
+
+    @Query(nativeQuery = true, value = """
+            DELETE FROM storage_blob
+            WHERE hash = :hash AND ref_count = 0 AND updated_at < now() - make_interval(secs => :gracePeriodSeconds)
+            RETURNING key
+            """)
+    Optional<String> deleteUnreferenced(String hash, long gracePeriodSeconds);
+
+    boolean existsByKey(String key);
+
+    @Query(nativeQuery = true, value = """
+            SELECT key FROM storage_blob
+            WHERE key COLLATE "C" > :after
+            ORDER BY key COLLATE "C"
+            LIMIT :limit
+            """)
+    List<String> findKeysAfter(String after, int limit);
+}
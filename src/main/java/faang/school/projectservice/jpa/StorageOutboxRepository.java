@@ -0,0 +1,43 @@
+package faang.school.projectservice.jpa;
+
+import faang.school.projectservice.model.StorageOutboxEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface StorageOutboxRepository extends JpaRepository<StorageOutboxEntry, Long> {
+
+    /**
+     * Locks a batch of due entries; rows already taken by another worker are skipped rather than waited for.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM storage_outbox
+            WHERE next_attempt_at <= now()
+            ORDER BY next_attempt_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """)
+    List<StorageOutboxEntry> lockDue(int limit);
+
+    /**
+     * The next attempt is computed from the database clock, the same one {@link #lockDue} compares against.
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "storage_outbox"))
+    @Query(nativeQuery = true, value = """
+            UPDATE storage_outbox
+            SET attempts = :attempts, next_attempt_at = now() + make_interval(secs => :backoffSeconds),
+                last_error = :lastError
+            WHERE id = :id
+            """)
+    void scheduleRetry(long id, int attempts, long backoffSeconds, String lastError);
+}
@@ -2,11 +2,19 @@ package faang.school.projectservice.jpa;
 
 import faang.school.projectservice.model.Team;
 import faang.school.projectservice.model.TeamMember;
+import faang.school.projectservice.model.TeamRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface TeamMemberJpaRepository extends JpaRepository<TeamMember, Long> {
@@ -18,4 +26,31 @@ public interface TeamMemberJpaRepository extends JpaRepository<TeamMember, Long>
     TeamMember findByUserIdAndProjectId(long userId, long projectId);
 
     List<TeamMember> findByUserId(long userId);
+
+    @Query(
+        "SELECT DISTINCT t.project.id FROM TeamMember tm JOIN tm.team t " +
+        "WHERE tm.userId = :userId"
+    )
+    Set<Long> findProjectIdsByUserId(long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "team_member_roles"))
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO team_member_roles (team_member_id, role)
+            SELECT tm.id, :#{#role.name()} FROM team_member tm
+            WHERE tm.id IN (:ids)
+              AND NOT EXISTS (SELECT 1 FROM team_member_roles r
+                              WHERE r.team_member_id = tm.id AND r.role = :#{#role.name()})
+            """)
+    int addRole(Collection<Long> ids, TeamRole role);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "team_member_roles"))
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            DELETE FROM team_member_roles
+            WHERE team_member_id IN (:ids) AND role = :#{#role.name()}
+            """)
+    int removeRole(Collection<Long> ids, TeamRole role);
 }
@@ -1,8 +1,10 @@
 package faang.school.projectservice.mapper;
 
 import faang.school.projectservice.dto.StageInvitationDto;
+import faang.school.projectservice.dto.StageInvitationViewDto;
 import faang.school.projectservice.model.stage_invitation.StageInvitation;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 import org.springframework.stereotype.Component;
 
@@ -17,4 +19,12 @@ public interface StageInvitationMapper {
 
     StageInvitation toEntity(StageInvitationDto stageInvitationDto);
 
+    @Mapping(source = "stage.stageId", target = "stageId")
+    @Mapping(source = "stage.stageName", target = "stageName")
+    @Mapping(source = "author.id", target = "authorId")
+    @Mapping(source = "author.userId", target = "authorUserId")
+    @Mapping(source = "invited.id", target = "invitedId")
+    @Mapping(source = "invited.userId", target = "invitedUserId")
+    StageInvitationViewDto toViewDto(StageInvitation stageInvitation);
+
 }
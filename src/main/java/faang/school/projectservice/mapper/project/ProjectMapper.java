@@ -2,6 +2,7 @@ package faang.school.projectservice.mapper.project;
 
 import faang.school.projectservice.dto.project.CreateSubProjectDto;
 import faang.school.projectservice.dto.project.ProjectDto;
+import faang.school.projectservice.dto.project.ProjectExportRow;
 import faang.school.projectservice.model.Project;
 import org.mapstruct.*;
 
@@ -16,6 +17,9 @@ public interface ProjectMapper {
 //    @Mapping(source = "children", target = "children", qualifiedByName = "mapToLongChildrenId")
     ProjectDto toDto(Project project);
 
+    @Mapping(source = "children", target = "children")
+    ProjectDto toDto(ProjectExportRow row, List<Long> children);
+
     Project toEntity(CreateSubProjectDto createSubProjectDto);
 
     Project toProject(ProjectDto project);
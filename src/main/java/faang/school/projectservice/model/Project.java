@@ -13,6 +13,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -22,6 +24,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -32,6 +37,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "project")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
+@NamedEntityGraph(name = "Project.children", attributeNodes = @NamedAttributeNode("children"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -61,7 +68,8 @@ public class Project {
     @JoinColumn(name = "parent_project_id")
     private Project parentProject;
 
-    @OneToMany(mappedBy = "parentProject", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "parentProject", fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<Project> children;
 
     @OneToMany(mappedBy = "project")
@@ -43,6 +43,9 @@ public class Resource {
 
     private BigInteger size;
 
+    @Column(name = "content_hash")
+    private String contentHash;
+
     @ElementCollection(targetClass = TeamRole.class)
     @CollectionTable(name = "resource_allowed_roles",
             joinColumns = @JoinColumn(name = "resource_id"))
@@ -1,7 +1,9 @@
 package faang.school.projectservice.model;
 
 public enum ResourceStatus {
+    PENDING,
     ACTIVE,
     INACTIVE,
+    FAILED,
     DELETED
 }
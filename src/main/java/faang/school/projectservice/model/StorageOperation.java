@@ -0,0 +1,5 @@
+package faang.school.projectservice.model;
+
+public enum StorageOperation {
+    DELETE_OBJECT
+}
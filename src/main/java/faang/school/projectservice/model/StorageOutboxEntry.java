@@ -0,0 +1,53 @@
+package faang.school.projectservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "storage_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StorageOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private StorageOperation operation;
+
+    @Column(name = "key", nullable = false)
+    private String key;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Set by the database clock only (column default and {@code StorageOutboxRepository#scheduleRetry}),
+     * since {@code lockDue} compares it with the database's now().
+     */
+    @Column(name = "next_attempt_at", insertable = false, updatable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1024)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
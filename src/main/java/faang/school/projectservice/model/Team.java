@@ -15,10 +15,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity
 @Table(name = "team")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -14,6 +16,7 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "team_member")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team-member")
 @Builder
 public class TeamMember {
     @Id
@@ -28,6 +31,7 @@ public class TeamMember {
             joinColumns = @JoinColumn(name = "team_member_id"))
     @Column(name = "role")
     @Enumerated(EnumType.STRING)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team-member-roles")
     private List<TeamRole> roles;
 
     @ManyToOne
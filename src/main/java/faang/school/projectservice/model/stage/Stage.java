@@ -8,11 +8,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
 @Table(name = "project_stage")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "stage")
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -1,9 +1,100 @@
 package faang.school.projectservice.repository;
 
+import faang.school.projectservice.dto.internship.InternOutcome;
+import faang.school.projectservice.dto.internship.InternshipConflict;
 import faang.school.projectservice.model.Internship;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface InternshipRepository extends JpaRepository<Internship, Long> {
+public interface InternshipRepository extends JpaRepository<Internship, Long>, JpaSpecificationExecutor<Internship> {
+
+    @Override
+    @EntityGraph(attributePaths = {"project", "mentorId"})
+    Page<Internship> findAll(Specification<Internship> specification, Pageable pageable);
+
+    /**
+     * Loads the interns of an already paged set of internships in one query. Fetching the collection
+     * in the paged query itself would make Hibernate apply the limit in memory.
+     */
+    @EntityGraph(attributePaths = "interns")
+    List<Internship> findWithInternsByIdIn(Collection<Long> ids);
+
+    /**
+     * In-progress internships, other than {@code excludeId}, in which any of the members is the mentor or an intern
+     * during {@code [startDate, endDate)}. A null {@code endDate} means the window is open-ended. Mentors are matched
+     * through the GiST index on (mentor_id, period) and interns through internship_interns(team_member_id).
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT i.id AS "internshipId", i.mentor_id AS "teamMemberId"
+            FROM internship i
+            WHERE i.mentor_id IN (:memberIds)
+              AND i.status = 'IN_PROGRESS' AND i.id <> :excludeId
+              AND tsrange(i.start_date, i.end_date, '[)')
+                  && tsrange(CAST(:startDate AS timestamp), CAST(:endDate AS timestamp), '[)')
+            UNION
+            SELECT i.id, ii.team_member_id
+            FROM internship_interns ii
+            JOIN internship i ON i.id = ii.internship_id
+            WHERE ii.team_member_id IN (:memberIds)
+              AND i.status = 'IN_PROGRESS' AND i.id <> :excludeId
+              AND tsrange(i.start_date, i.end_date, '[)')
+                  && tsrange(CAST(:startDate AS timestamp), CAST(:endDate AS timestamp), '[)')
+            """)
+    List<InternshipConflict> findConflicts(Collection<Long> memberIds, LocalDateTime startDate, LocalDateTime endDate,
+                                           long excludeId);
+
+    @Query(nativeQuery = true, value = """
+            SELECT id FROM internship
+            WHERE status = 'IN_PROGRESS' AND end_date < now() AND id > :afterId
+            ORDER BY id
+            LIMIT :limit
+            """)
+    List<Long> findExpiredInProgressIds(long afterId, int limit);
+
+    /**
+     * Number of unfinished tasks on the stages each intern of the internships executes.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT ii.team_member_id AS "teamMemberId",
+                   COUNT(t.id) FILTER (WHERE t.status IS DISTINCT FROM 'DONE') AS "openTasks"
+            FROM (SELECT DISTINCT team_member_id FROM internship_interns WHERE internship_id IN (:internshipIds)) ii
+            LEFT JOIN project_stage_executors pse ON pse.executor_id = ii.team_member_id
+            LEFT JOIN task t ON t.stage_id = pse.stage_id
+            GROUP BY ii.team_member_id
+            """)
+    List<InternOutcome> findInternOutcomes(Collection<Long> internshipIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "internship_interns"))
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            DELETE FROM internship_interns
+            WHERE internship_id IN (:internshipIds) AND team_member_id IN (:teamMemberIds)
+            """)
+    int removeInterns(Collection<Long> internshipIds, Collection<Long> teamMemberIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "internship"))
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE internship SET status = 'COMPLETED', updated_at = now()
+            WHERE id IN (:internshipIds) AND status = 'IN_PROGRESS'
+            """)
+    int markCompleted(Collection<Long> internshipIds);
 }
@@ -2,8 +2,13 @@ package faang.school.projectservice.repository;
 
 import faang.school.projectservice.jpa.ProjectJpaRepository;
 import faang.school.projectservice.model.Project;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +17,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProjectRepository {
     private final ProjectJpaRepository projectJpaRepository;
+    private final EntityManager entityManager;
 
     public Project getProjectById(Long projectId) {
         return projectJpaRepository.findById(projectId).orElseThrow(
@@ -19,6 +25,12 @@ public class ProjectRepository {
         );
     }
 
+    public Project getProjectWithChildrenById(Long projectId) {
+        return projectJpaRepository.findWithChildrenById(projectId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Project not found by id: %s", projectId))
+        );
+    }
+
     public List<Project> findAll() {
         return projectJpaRepository.findAll();
     }
@@ -27,6 +39,22 @@ public class ProjectRepository {
         return projectJpaRepository.findAllById(ids);
     }
 
+    /**
+     * Keyset page: up to {@code limit} projects matching the specification with id greater
+     * than {@code afterId}, ordered by id. Unlike a Page query it issues no count query.
+     */
+    public List<Project> findAllAfterId(Specification<Project> specification, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Project> query = cb.createQuery(Project.class);
+        Root<Project> root = query.from(Project.class);
+        Specification<Project> keyset = specification.and((r, q, b) -> b.greaterThan(r.get("id"), afterId));
+        query.where(keyset.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     public boolean existsByOwnerUserIdAndName(Long userId, String name) {
         return projectJpaRepository.existsByOwnerIdAndName(userId, name);
     }
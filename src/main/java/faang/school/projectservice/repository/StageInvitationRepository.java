@@ -2,10 +2,24 @@ package faang.school.projectservice.repository;
 
 import java.util.List;
 
+import faang.school.projectservice.dto.StageInvitationViewDto;
 import faang.school.projectservice.jpa.StageInvitationJpaRepository;
+import faang.school.projectservice.model.TeamMember;
+import faang.school.projectservice.model.stage.Stage;
 import faang.school.projectservice.model.stage_invitation.StageInvitation;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,6 +27,7 @@ import org.springframework.stereotype.Repository;
 public class StageInvitationRepository {
     private final StageInvitationJpaRepository repository;
     private final TeamMemberRepository teamMemberRepository;
+    private final EntityManager entityManager;
 
     public StageInvitation save(StageInvitation stageInvitation) {
         return repository.save(stageInvitation);
@@ -27,4 +42,35 @@ public class StageInvitationRepository {
     public List<StageInvitation> findAll() {
         return repository.findAll();
     }
+
+    /**
+     * Page of invitations matching the specification as flat views, read with a single joined select.
+     * Unlike a Page query it issues no count query.
+     */
+    public List<StageInvitationViewDto> findAllViews(Specification<StageInvitation> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StageInvitationViewDto> query = cb.createQuery(StageInvitationViewDto.class);
+        Root<StageInvitation> root = query.from(StageInvitation.class);
+        Join<StageInvitation, Stage> stage = root.join("stage", JoinType.LEFT);
+        Join<StageInvitation, TeamMember> author = root.join("author", JoinType.LEFT);
+        Join<StageInvitation, TeamMember> invited = root.join("invited", JoinType.LEFT);
+
+        query.select(cb.construct(StageInvitationViewDto.class,
+                        root.get("id"), root.get("description"), root.get("status"),
+                        stage.get("stageId"), stage.get("stageName"),
+                        author.get("id"), author.get("userId"),
+                        invited.get("id"), invited.get("userId")))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        TypedQuery<StageInvitationViewDto> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
 }
@@ -2,10 +2,16 @@ package faang.school.projectservice.repository;
 
 import faang.school.projectservice.jpa.TeamMemberJpaRepository;
 import faang.school.projectservice.model.TeamMember;
+import faang.school.projectservice.model.TeamRole;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @Repository
 @RequiredArgsConstructor
 public class TeamMemberRepository {
@@ -16,6 +22,38 @@ public class TeamMemberRepository {
                 new EntityNotFoundException(String.format("Team member doesn't exist by id: %s", id)));
     }
 
+    /**
+     * Loads all team members with one select and fails if any of the ids does not exist.
+     */
+    public List<TeamMember> findAllByIds(Collection<Long> ids) {
+        Set<Long> missingIds = new HashSet<>(ids);
+        List<TeamMember> teamMembers = jpaRepository.findAllById(missingIds);
+        teamMembers.forEach(teamMember -> missingIds.remove(teamMember.getId()));
+        if (!missingIds.isEmpty()) {
+            throw new EntityNotFoundException(String.format("Team members don't exist by ids: %s", missingIds));
+        }
+        return teamMembers;
+    }
+
+    /**
+     * Grants the role to all team members with a single insert. The statement is synchronized on
+     * team_member_roles, so Hibernate invalidates the cached role lists itself, also after commit.
+     * Role lists of these members that are already loaded in the current session are not refreshed.
+     */
+    public void addRole(Collection<Long> ids, TeamRole role) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jpaRepository.addRole(ids, role);
+    }
+
+    public void removeRole(Collection<Long> ids, TeamRole role) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jpaRepository.removeRole(ids, role);
+    }
+
    public boolean existsById(Long id){
        return jpaRepository.existsById(id);
    }
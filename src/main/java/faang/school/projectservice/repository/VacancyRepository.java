@@ -9,4 +9,33 @@ import java.util.List;
 
 @Repository
 public interface VacancyRepository extends JpaRepository<Vacancy, Long> {
+
+    /**
+     * Vacancies matching a {@code to_tsquery('simple', ...)} expression, best matches first. Name matches
+     * weigh more than description matches. Null filters are ignored.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT v.* FROM vacancy v
+            WHERE v.search_vector @@ to_tsquery('simple', :query)
+              AND (CAST(:status AS varchar) IS NULL OR v.status = CAST(:status AS varchar))
+              AND (CAST(:workSchedule AS varchar) IS NULL OR v.work_schedule = CAST(:workSchedule AS varchar))
+              AND (CAST(:minSalary AS numeric) IS NULL OR v.salary >= CAST(:minSalary AS numeric))
+              AND (CAST(:maxSalary AS numeric) IS NULL OR v.salary <= CAST(:maxSalary AS numeric))
+            ORDER BY ts_rank(v.search_vector, to_tsquery('simple', :query)) DESC, v.id
+            LIMIT :limit OFFSET :offset
+            """)
+    List<Vacancy> search(String query, String status, String workSchedule, Double minSalary, Double maxSalary,
+                         int limit, long offset);
+
+    @Query(nativeQuery = true, value = """
+            SELECT v.* FROM vacancy v
+            WHERE (CAST(:status AS varchar) IS NULL OR v.status = CAST(:status AS varchar))
+              AND (CAST(:workSchedule AS varchar) IS NULL OR v.work_schedule = CAST(:workSchedule AS varchar))
+              AND (CAST(:minSalary AS numeric) IS NULL OR v.salary >= CAST(:minSalary AS numeric))
+              AND (CAST(:maxSalary AS numeric) IS NULL OR v.salary <= CAST(:maxSalary AS numeric))
+            ORDER BY v.id
+            LIMIT :limit OFFSET :offset
+            """)
+    List<Vacancy> findAllByFilters(String status, String workSchedule, Double minSalary, Double maxSalary,
+                                   int limit, long offset);
 }
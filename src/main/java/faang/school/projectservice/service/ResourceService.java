@@ -1,85 +1,356 @@
 package faang.school.projectservice.service;
 
 import faang.school.projectservice.dto.client.ResourceDto;
+import faang.school.projectservice.dto.resource.PresignedUploadRequestDto;
+import faang.school.projectservice.dto.resource.PresignedUrlDto;
+import faang.school.projectservice.dto.resource.ResourceUploadCompletionDto;
 import faang.school.projectservice.jpa.ResourceRepository;
 import faang.school.projectservice.mapper.resource.ResourceMapper;
 import faang.school.projectservice.model.Project;
 import faang.school.projectservice.model.Resource;
 import faang.school.projectservice.model.ResourceStatus;
+import faang.school.projectservice.model.ResourceType;
 import faang.school.projectservice.model.TeamRole;
 import faang.school.projectservice.repository.TeamMemberRepository;
+import faang.school.projectservice.exceptions.ConflictException;
+import faang.school.projectservice.util.ConditionalRequest;
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class ResourceService {
+    private static final String KEY_ALREADY_REGISTERED = "Resource with this key is already registered";
+
     private final ProjectService projectService;
     private final S3Service s3Service;
     private final ResourceRepository resourceRepository;
     private final TeamMemberRepository teamMemberRepository;
     private final ResourceMapper resourceMapper;
+    private final StorageQuotaService storageQuotaService;
+    private final StorageBlobService storageBlobService;
+    private final StorageOutboxService storageOutboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${services.s3.download-buffer-size:65536}")
+    private int downloadBufferSize;
+
+    @Value("${services.s3.presigned-url-ttl:15m}")
+    private Duration presignedUrlTtl;
 
     public ResourceDto addResource(Long projectId, MultipartFile file, Long userId) {
         Project project = projectService.getProjectById(projectId);
-        BigInteger newStorageSize = project.getStorageSize().add(BigInteger.valueOf(file.getSize()));
-        checkStorageSizeExceeded(project.getMaxStorageSize(), newStorageSize);
         teamMemberIdExists(userId);
 
-        String folder = project.getId() + project.getName();
-        Resource resource = s3Service.uploadFile(file, folder);
-        resource.setProject(project);
-        resource.setCreatedBy(teamMemberRepository.findById(userId));
-        resource.setUpdatedBy(teamMemberRepository.findById(userId));
-        resource = resourceRepository.save(resource);
-
-        saveProject(project, newStorageSize);
-
-        return resourceMapper.toDto(resource);
+        long charged = file.getSize();
+        storageQuotaService.reserve(projectId, charged);
+        Resource resource = null;
+        try {
+            resource = storeFile(file, project);
+            if (resourceRepository.existsByProjectIdAndContentHashAndStatus(
+                    projectId, resource.getContentHash(), ResourceStatus.ACTIVE)) {
+                storageQuotaService.release(projectId, charged);
+                charged = 0;
+            }
+            resource.setProject(project);
+            resource.setCreatedBy(teamMemberRepository.findById(userId));
+            resource.setUpdatedBy(teamMemberRepository.findById(userId));
+            resource = resourceRepository.save(resource);
+            return resourceMapper.toDto(resource);
+        } catch (RuntimeException e) {
+            storageQuotaService.releaseQuietly(projectId, charged);
+            if (resource != null) {
+                storageBlobService.release(resource.getContentHash());
+            }
+            throw e;
+        }
     }
 
     public ResourceDto updateResource(Long resourceId, MultipartFile file, Long userId) {
         Resource currentResource = getResourceWithCheckedPermissions(resourceId, userId);
         Project project = currentResource.getProject();
+        String oldKey = currentResource.getKey();
+        String oldContentHash = currentResource.getContentHash();
+        long freed = isSharedInProject(currentResource, oldContentHash) ? 0 : currentResource.getSize().longValue();
+        long delta = file.getSize() - freed;
+        long reserved = Math.max(delta, 0);
 
-        BigInteger newStorageSize = project.getStorageSize()
-                .subtract(currentResource.getSize())
-                .add(BigInteger.valueOf(file.getSize()));
-        checkStorageSizeExceeded(project.getMaxStorageSize(), newStorageSize);
+        storageQuotaService.reserve(project.getId(), reserved);
+        Resource resource = null;
+        try {
+            resource = storeFile(file, project);
+            Resource uploaded = resource;
+            // the row switches to the new file and the old one is released atomically; S3 cleanup goes through the outbox
+            transactionTemplate.executeWithoutResult(status -> {
+                updateResourceFiles(currentResource, uploaded);
+                releaseFile(oldKey, oldContentHash);
+            });
+        } catch (RuntimeException e) {
+            storageQuotaService.releaseQuietly(project.getId(), reserved);
+            if (resource != null) {
+                storageBlobService.release(resource.getContentHash());
+            }
+            throw e;
+        }
+        long refund = isSharedInProject(currentResource, resource.getContentHash()) ? reserved + freed : reserved - delta;
+        storageQuotaService.release(project.getId(), refund);
 
-        String folder = project.getId() + project.getName();
-        s3Service.deleteFile(currentResource.getKey());
-        Resource resource = s3Service.uploadFile(file, folder);
+        return resourceMapper.toDto(currentResource);
+    }
 
-        updateResourceFiles(currentResource, resource);
-        saveProject(project, newStorageSize);
+    /**
+     * Issues a presigned PUT so the client uploads the file straight to S3. The declared size is only
+     * checked up front; the real size is verified in {@link #completeUpload} once the object exists.
+     */
+    public PresignedUrlDto createUploadUrl(Long projectId, PresignedUploadRequestDto request, Long userId) {
+        Project project = projectService.getProjectById(projectId);
+        checkStorageSizeExceeded(project.getMaxStorageSize(),
+                project.getStorageSize().add(BigInteger.valueOf(request.getSize())));
+        teamMemberIdExists(userId);
 
-        return resourceMapper.toDto(currentResource);
+        String key = s3Service.generateKey(getFolder(project), request.getFileName());
+        return createPresignedUrl(key, HttpMethod.PUT, request.getContentType());
+    }
+
+    /**
+     * Runs without a surrounding transaction, like {@link #addResource}: the reservation commits on its own
+     * and is refunded if the row cannot be saved. Two completions of the same key can both pass the
+     * existence check; the unique index on resource.key lets only one insert through and the other gets 409.
+     */
+    public ResourceDto completeUpload(Long projectId, ResourceUploadCompletionDto completion, Long userId) {
+        Project project = projectService.getProjectById(projectId);
+        teamMemberIdExists(userId);
+        String key = completion.getKey();
+        if (!key.startsWith(getFolder(project) + "/")) {
+            throw new IllegalArgumentException("Resource key does not belong to the project");
+        }
+        if (resourceRepository.existsByKey(key)) {
+            throw new ConflictException(KEY_ALREADY_REGISTERED);
+        }
+
+        ObjectMetadata metadata = s3Service.getFileMetadata(key);
+        BigInteger size = BigInteger.valueOf(metadata.getContentLength());
+        try {
+            storageQuotaService.reserve(projectId, size.longValue());
+        } catch (IllegalArgumentException e) {
+            s3Service.deleteFile(key);
+            throw e;
+        }
+
+        Resource resource = new Resource();
+        resource.setKey(key);
+        resource.setName(completion.getName());
+        resource.setSize(size);
+        resource.setType(ResourceType.getResourceType(metadata.getContentType()));
+        resource.setStatus(ResourceStatus.ACTIVE);
+        resource.setProject(project);
+        resource.setCreatedBy(teamMemberRepository.findById(userId));
+        resource.setUpdatedBy(teamMemberRepository.findById(userId));
+        try {
+            resource = resourceRepository.save(resource);
+        } catch (RuntimeException e) {
+            storageQuotaService.releaseQuietly(projectId, size.longValue());
+            // a concurrent completion of the same key won the unique index on resource.key
+            if (e instanceof DataIntegrityViolationException && resourceRepository.existsByKey(key)) {
+                throw new ConflictException(KEY_ALREADY_REGISTERED);
+            }
+            throw e;
+        }
+
+        return resourceMapper.toDto(resource);
+    }
+
+    public PresignedUrlDto createDownloadUrl(Long resourceId) {
+        Resource resource = getResourceById(resourceId);
+        return createPresignedUrl(resource.getKey(), HttpMethod.GET, null);
     }
 
     @Transactional
     public void deleteResource(Long resourceId, Long userId) {
         Resource resource = getResourceWithCheckedPermissions(resourceId, userId);
-        s3Service.deleteFile(resource.getKey());
-        Project project = resource.getProject();
-        project.setStorageSize(project.getStorageSize().subtract(resource.getSize()));
+        releaseFile(resource.getKey(), resource.getContentHash());
+        if (!isSharedInProject(resource, resource.getContentHash())) {
+            storageQuotaService.release(resource.getProject().getId(), resource.getSize().longValue());
+        }
 
         resource.setStatus(ResourceStatus.DELETED);
         resource.setUpdatedAt(LocalDateTime.now());
         resource.setUpdatedBy(teamMemberRepository.findById(userId));
         resource.setKey(null);
         resource.setSize(null);
+        resource.setContentHash(null);
     }
 
-    public InputStream downloadResource(Long resourceId) {
+    /**
+     * Streams the resource straight from S3 through a fixed-size buffer. A single byte range is served
+     * as 206 Partial Content (unless If-Range no longer matches). If-None-Match / If-Modified-Since against
+     * the returned ETag/Last-Modified are checked here and answered with 304 before the object is opened,
+     * since Spring does not evaluate preconditions for a {@link StreamingResponseBody}.
+     */
+    public ResponseEntity<StreamingResponseBody> downloadResource(Long resourceId, HttpHeaders requestHeaders) {
         Resource resource = getResourceById(resourceId);
-        return s3Service.downloadFile(resource.getKey());
+        ObjectMetadata metadata = s3Service.getFileMetadata(resource.getKey());
+        long contentLength = metadata.getContentLength();
+        String eTag = "\"" + metadata.getETag() + "\"";
+        Instant lastModified = metadata.getLastModified().toInstant();
+        if (ConditionalRequest.isNotModified(requestHeaders, eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .build();
+        }
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag(eTag);
+        responseHeaders.setLastModified(lastModified);
+        responseHeaders.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        responseHeaders.setContentType(getMediaType(metadata));
+        responseHeaders.setContentDisposition(ContentDisposition.attachment()
+                .filename(resource.getName(), StandardCharsets.UTF_8)
+                .build());
+
+        List<HttpRange> ranges;
+        try {
+            ranges = isRangeApplicable(requestHeaders, eTag, lastModified) ? requestHeaders.getRange() : List.of();
+        } catch (IllegalArgumentException e) {
+            return rangeNotSatisfiable(responseHeaders, contentLength);
+        }
+        if (ranges.size() != 1 || contentLength == 0) {
+            responseHeaders.setContentLength(contentLength);
+            return ResponseEntity.ok()
+                    .headers(responseHeaders)
+                    .body(streamFile(resource.getKey(), 0, contentLength - 1));
+        }
+
+        long start;
+        long end;
+        try {
+            HttpRange range = ranges.get(0);
+            start = range.getRangeStart(contentLength);
+            end = range.getRangeEnd(contentLength);
+        } catch (IllegalArgumentException e) {
+            return rangeNotSatisfiable(responseHeaders, contentLength);
+        }
+        responseHeaders.setContentLength(end - start + 1);
+        responseHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes %d-%d/%d".formatted(start, end, contentLength));
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .headers(responseHeaders)
+                .body(streamFile(resource.getKey(), start, end));
+    }
+
+    private Resource storeFile(MultipartFile file, Project project) {
+        Resource resource = s3Service.uploadFile(file, getFolder(project));
+        resource.setKey(storageBlobService.store(resource.getKey(), resource.getContentHash(), file.getSize()));
+        return resource;
+    }
+
+    /**
+     * A project is charged once per distinct content, so space is only freed when no other active
+     * resource of the project points at the same blob.
+     */
+    private boolean isSharedInProject(Resource resource, String contentHash) {
+        return contentHash != null && resourceRepository.existsByProjectIdAndContentHashAndStatusAndIdNot(
+                resource.getProject().getId(), contentHash, ResourceStatus.ACTIVE, resource.getId());
+    }
+
+    private void releaseFile(String key, String contentHash) {
+        if (contentHash != null) {
+            storageBlobService.release(contentHash);
+        } else {
+            storageOutboxService.enqueueDelete(key);
+        }
+    }
+
+    private PresignedUrlDto createPresignedUrl(String key, HttpMethod method, String contentType) {
+        Instant expiresAt = Instant.now().plus(presignedUrlTtl);
+        return PresignedUrlDto.builder()
+                .key(key)
+                .url(s3Service.generatePresignedUrl(key, method, Date.from(expiresAt), contentType).toString())
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .build();
+    }
+
+    private String getFolder(Project project) {
+        return project.getId() + project.getName();
+    }
+
+    private StreamingResponseBody streamFile(String key, long start, long end) {
+        return outputStream -> {
+            if (end < start) {
+                return;
+            }
+            try (S3Object s3Object = s3Service.downloadFile(key, start, end);
+                 InputStream inputStream = s3Object.getObjectContent()) {
+                copy(inputStream, outputStream);
+            }
+        };
+    }
+
+    private void copy(InputStream inputStream, OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[downloadBufferSize];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        outputStream.flush();
+    }
+
+    private boolean isRangeApplicable(HttpHeaders requestHeaders, String eTag, Instant lastModified) {
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            Instant date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return date.getEpochSecond() == lastModified.getEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> rangeNotSatisfiable(HttpHeaders responseHeaders, long contentLength) {
+        responseHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes */" + contentLength);
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .headers(responseHeaders)
+                .build();
+    }
+
+    private MediaType getMediaType(ObjectMetadata metadata) {
+        String contentType = metadata.getContentType();
+        return contentType == null ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType(contentType);
     }
 
     private void checkStorageSizeExceeded(BigInteger maxStorageSize, BigInteger newStorageSize) {
@@ -108,6 +379,7 @@ public class ResourceService {
     private void updateResourceFiles(Resource resourceFromDB, Resource resource) {
         resourceFromDB.setKey(resource.getKey());
         resourceFromDB.setSize(resource.getSize());
+        resourceFromDB.setContentHash(resource.getContentHash());
         resourceFromDB.getUpdatedBy().setId(resource.getId());
         resourceFromDB.setUpdatedAt(resource.getUpdatedAt());
         resourceFromDB.setName(resource.getName());
@@ -115,11 +387,6 @@ public class ResourceService {
         resourceRepository.save(resourceFromDB);
     }
 
-    private void saveProject(Project project, BigInteger newStorageSize) {
-        project.setStorageSize(newStorageSize);
-        projectService.save(project);
-    }
-
     private Resource getResourceById(Long resourceId) {
         return resourceRepository.findById(resourceId)
                 .orElseThrow(() -> new IllegalArgumentException("There are no resource with this ID"));
@@ -1,48 +1,177 @@
 package faang.school.projectservice.service;
 
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import faang.school.projectservice.model.Resource;
 import faang.school.projectservice.model.ResourceStatus;
 import faang.school.projectservice.model.ResourceType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.net.URL;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class S3Service {
 
+    private static final String STAGING_FOLDER = "staging";
+    private static final long MIN_PART_SIZE = DataSize.ofMegabytes(5).toBytes();
+
     @Qualifier("clientAmazonS3")
     private final AmazonS3 s3client;
+    @Qualifier("s3UploadExecutor")
+    private final ExecutorService s3UploadExecutor;
+    private final MeterRegistry meterRegistry;
 
     @Value("${services.s3.bucketName}")
     private String bucketName;
 
+    @Value("${services.s3.multipart.threshold:16MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${services.s3.multipart.part-size:8MB}")
+    private DataSize partSize;
+
+    @Value("${services.s3.multipart.max-parts-in-memory:8}")
+    private int maxPartsInMemory;
+
+    private Semaphore partPermits;
+
+    @PostConstruct
+    public void init() {
+        if (partSize.toBytes() < MIN_PART_SIZE) {
+            throw new IllegalStateException("S3 multipart part size must be at least 5MB");
+        }
+        partPermits = new Semaphore(maxPartsInMemory);
+        Gauge.builder("s3.upload.parts.in_flight", partPermits, permits -> maxPartsInMemory - permits.availablePermits())
+                .description("Multipart upload parts buffered or being sent to S3")
+                .register(meterRegistry);
+    }
+
+    public String generateKey(String folder, String fileName) {
+        return String.format("%s/%d%s", folder, System.currentTimeMillis(), fileName);
+    }
+
+    /**
+     * Uploads the file to a staging key and hashes the content on the way. The returned resource
+     * carries the staging key and the SHA-256 of the content for {@link StorageBlobService#store}.
+     */
     public Resource uploadFile(MultipartFile file, String folder) {
-        String key = String.format("%s/%d%s", folder, System.currentTimeMillis(), file.getOriginalFilename());
+        String key = String.format("%s/%s/%s", STAGING_FOLDER, folder, UUID.randomUUID());
 
         ObjectMetadata objectMetadata = prepareObjectMetadata(file);
-        putObjectRequest(key, file, objectMetadata);
+        MessageDigest digest = createDigest();
+        // buffered on top of the digest so that SDK mark/reset on retry never feeds bytes into the hash twice
+        try (InputStream inputStream = new BufferedInputStream(new DigestInputStream(file.getInputStream(), digest))) {
+            if (file.getSize() > multipartThreshold.toBytes()) {
+                Timer.builder("s3.upload.duration").tag("mode", "multipart").register(meterRegistry)
+                        .record(() -> multipartUpload(key, inputStream, objectMetadata));
+            } else {
+                Timer.builder("s3.upload.duration").tag("mode", "single").register(meterRegistry)
+                        .record(() -> putObjectRequest(key, inputStream, objectMetadata));
+            }
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            throw new RuntimeException("File upload error");
+        }
         Resource resource = prepareResource(key, file);
+        resource.setContentHash(HexFormat.of().formatHex(digest.digest()));
 
         return resource;
     }
 
+    public void copyFile(String sourceKey, String targetKey) {
+        try {
+            s3client.copyObject(bucketName, sourceKey, bucketName, targetKey);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw new RuntimeException("File upload error");
+        }
+    }
+
+    public boolean exists(String key) {
+        return s3client.doesObjectExist(bucketName, key);
+    }
+
     public void deleteFile(String key) {
         s3client.deleteObject(bucketName, key);
     }
 
+    /**
+     * Deletes up to 1000 objects in one request and returns the keys that were actually removed.
+     */
+    public List<String> deleteFiles(List<String> keys) {
+        DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName).withKeys(keys.toArray(String[]::new));
+        try {
+            return s3client.deleteObjects(request).getDeletedObjects().stream()
+                    .map(DeleteObjectsResult.DeletedObject::getKey)
+                    .toList();
+        } catch (MultiObjectDeleteException e) {
+            e.getErrors().forEach(error -> log.warn("Failed to delete {}: {}", error.getKey(), error.getMessage()));
+            return e.getDeletedObjects().stream()
+                    .map(DeleteObjectsResult.DeletedObject::getKey)
+                    .toList();
+        }
+    }
+
+    /**
+     * Lists one page of the bucket in key order, starting after {@code startAfter} or continuing a previous page.
+     */
+    public ListObjectsV2Result listFiles(String startAfter, String continuationToken, int maxKeys) {
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withMaxKeys(maxKeys);
+        if (continuationToken != null) {
+            request.setContinuationToken(continuationToken);
+        } else if (startAfter != null) {
+            request.setStartAfter(startAfter);
+        }
+        return s3client.listObjectsV2(request);
+    }
+
     public InputStream downloadFile(String key) {
         try {
             S3Object s3Object = s3client.getObject(bucketName, key);
@@ -53,6 +182,43 @@ public class S3Service {
         }
     }
 
+    public S3Object downloadFile(String key, long start, long end) {
+        try {
+            GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, key).withRange(start, end);
+            return s3client.getObject(getObjectRequest);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw new RuntimeException("File download error");
+        }
+    }
+
+    public URL generatePresignedUrl(String key, HttpMethod method, Date expiration, String contentType) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key)
+                .withMethod(method)
+                .withExpiration(expiration);
+        if (contentType != null) {
+            request.setContentType(contentType);
+        }
+        return s3client.generatePresignedUrl(request);
+    }
+
+    public ObjectMetadata getFileMetadata(String key) {
+        try {
+            return s3client.getObjectMetadata(bucketName, key);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw new RuntimeException("File download error");
+        }
+    }
+
+    private MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private ObjectMetadata prepareObjectMetadata(MultipartFile file) {
         ObjectMetadata objectMetadata = new ObjectMetadata();
         objectMetadata.setContentLength(file.getSize());
@@ -60,16 +226,111 @@ public class S3Service {
         return objectMetadata;
     }
 
-    private void putObjectRequest(String key, MultipartFile file, ObjectMetadata objectMetadata) {
+    private void putObjectRequest(String key, InputStream inputStream, ObjectMetadata objectMetadata) {
         try {
-            PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, key, file.getInputStream(), objectMetadata);
+            PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, key, inputStream, objectMetadata);
             s3client.putObject(putObjectRequest);
+            meterRegistry.counter("s3.upload.bytes").increment(objectMetadata.getContentLength());
         } catch (Exception e) {
             log.error(e.getMessage(), e);
             throw new RuntimeException("File upload error");
         }
     }
 
+    /**
+     * Reads the file part by part and uploads the parts in parallel on the shared upload executor.
+     * Every buffered part holds a permit, so at most {@code max-parts-in-memory} parts are kept in heap
+     * across all uploads. Any failure aborts the upload so S3 does not keep the orphaned parts.
+     */
+    private void multipartUpload(String key, InputStream inputStream, ObjectMetadata objectMetadata) {
+        ObjectMetadata initMetadata = new ObjectMetadata();
+        initMetadata.setContentType(objectMetadata.getContentType());
+        String uploadId = s3client.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucketName, key, initMetadata)).getUploadId();
+        List<Future<PartETag>> parts = new ArrayList<>();
+
+        try {
+            int partNumber = 1;
+            while (true) {
+                partPermits.acquire();
+                byte[] part;
+                try {
+                    part = inputStream.readNBytes((int) partSize.toBytes());
+                } catch (Exception e) {
+                    partPermits.release();
+                    throw e;
+                }
+                if (part.length == 0) {
+                    partPermits.release();
+                    break;
+                }
+                parts.add(submitPart(key, uploadId, partNumber++, part));
+                failFast(parts);
+            }
+
+            List<PartETag> partETags = new ArrayList<>();
+            for (Future<PartETag> part : parts) {
+                partETags.add(part.get());
+            }
+            s3client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+            meterRegistry.counter("s3.upload.multipart", "result", "completed").increment();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            awaitQuietly(parts);
+            abortMultipartUpload(key, uploadId);
+            log.error("Multipart upload of {} failed", key, e);
+            throw new RuntimeException("File upload error");
+        }
+    }
+
+    private Future<PartETag> submitPart(String key, String uploadId, int partNumber, byte[] part) {
+        return s3UploadExecutor.submit(() -> {
+            try {
+                UploadPartRequest uploadPartRequest = new UploadPartRequest()
+                        .withBucketName(bucketName)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withPartSize(part.length)
+                        .withInputStream(new ByteArrayInputStream(part));
+                PartETag partETag = s3client.uploadPart(uploadPartRequest).getPartETag();
+                meterRegistry.counter("s3.upload.bytes").increment(part.length);
+                return partETag;
+            } finally {
+                partPermits.release();
+            }
+        });
+    }
+
+    private void failFast(List<Future<PartETag>> parts) throws ExecutionException, InterruptedException {
+        for (Future<PartETag> part : parts) {
+            if (part.isDone()) {
+                part.get();
+            }
+        }
+    }
+
+    private void awaitQuietly(List<Future<PartETag>> parts) {
+        for (Future<PartETag> part : parts) {
+            try {
+                part.get();
+            } catch (Exception ignored) {
+                // the first failure is already being reported, remaining parts only need to settle before abort
+            }
+        }
+    }
+
+    private void abortMultipartUpload(String key, String uploadId) {
+        try {
+            s3client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (Exception e) {
+            log.error("Failed to abort multipart upload {} of {}", uploadId, key, e);
+        }
+        meterRegistry.counter("s3.upload.multipart", "result", "aborted").increment();
+    }
+
     private Resource prepareResource(String key, MultipartFile file) {
         Resource resource = new Resource();
         resource.setKey(key);
@@ -1,17 +1,18 @@
 package faang.school.projectservice.service;
 
 import faang.school.projectservice.dto.StageInvitationDto;
+import faang.school.projectservice.dto.StageInvitationViewDto;
 import faang.school.projectservice.filters.stageinvitation.StageInvitationFilter;
 import faang.school.projectservice.mapper.StageInvitationMapper;
 import faang.school.projectservice.model.stage_invitation.StageInvitation;
 import faang.school.projectservice.model.stage_invitation.StageInvitationStatus;
 import faang.school.projectservice.repository.StageInvitationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -22,11 +23,11 @@ public class StageInvitationService {
     private final TeamMemberService teamMemberService;
     private final List<StageInvitationFilter> stageInvitationFilterList;
 
-    public StageInvitationDto create(StageInvitationDto stageInvitationDto) {
+    public StageInvitationViewDto create(StageInvitationDto stageInvitationDto) {
         return saveStageInvitation(stageInvitationMapper.toEntity(stageInvitationDto));
     }
 
-    public StageInvitationDto accept(Long userId, Long invitationId) {
+    public StageInvitationViewDto accept(Long userId, Long invitationId) {
         StageInvitation invitation = getInvitation(userId, invitationId);
 
         invitation.setStatus(StageInvitationStatus.ACCEPTED);
@@ -34,7 +35,7 @@ public class StageInvitationService {
         return saveStageInvitation(invitation);
     }
 
-    public StageInvitationDto reject(Long userId, Long invitationId, String description) {
+    public StageInvitationViewDto reject(Long userId, Long invitationId, String description) {
         StageInvitation invitation = getInvitation(userId, invitationId);
 
         invitation.setDescription(description);
@@ -42,26 +43,23 @@ public class StageInvitationService {
         return saveStageInvitation(invitation);
     }
 
-    public List<StageInvitationDto> getAll(Long id, StageInvitationDto filter) {
-        if (filter != null) {
-            Stream<StageInvitation> stageInvitationStream = stageInvitationRepository.findAll().stream();
-            for (StageInvitationFilter stageInvitationFilter : stageInvitationFilterList) {
-                if (stageInvitationFilter.isApplicable(filter)) {
-                    stageInvitationStream = stageInvitationFilter.apply(stageInvitationStream, filter);
-                }
-            }
-            List<StageInvitationDto> stageInvitationDtos = new ArrayList<>();
-            for (StageInvitation requests : stageInvitationStream.toList()) {
-                stageInvitationDtos.add(stageInvitationMapper.toDto(requests));
-            }
+    public List<StageInvitationViewDto> getAll(Long id, StageInvitationDto filter, Pageable pageable) {
+        Specification<StageInvitation> specification = filter != null ? toSpecification(filter) : invitedUser(id);
+        return stageInvitationRepository.findAllViews(specification, pageable);
+    }
 
-            return stageInvitationDtos;
+    private Specification<StageInvitation> toSpecification(StageInvitationDto filter) {
+        Specification<StageInvitation> specification = Specification.where(null);
+        for (StageInvitationFilter stageInvitationFilter : stageInvitationFilterList) {
+            if (stageInvitationFilter.isApplicable(filter)) {
+                specification = specification.and(stageInvitationFilter.toSpecification(filter));
+            }
         }
-        return stageInvitationMapper.toDtoList(stageInvitationRepository
-                .findAll()
-                .stream()
-                .filter(stageInvitation -> stageInvitation.getInvited().getUserId().equals(id))
-                .toList());
+        return specification;
+    }
+
+    private Specification<StageInvitation> invitedUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("invited").get("userId"), userId);
     }
 
     private StageInvitation getInvitation(Long userId, Long invitationId) {
@@ -78,9 +76,9 @@ public class StageInvitationService {
         return invitation;
     }
 
-    private StageInvitationDto saveStageInvitation(StageInvitation invitation) {
+    private StageInvitationViewDto saveStageInvitation(StageInvitation invitation) {
         stageInvitationRepository.save(invitation);
-        return stageInvitationMapper.toDto(invitation);
+        return stageInvitationMapper.toViewDto(invitation);
     }
 
 }
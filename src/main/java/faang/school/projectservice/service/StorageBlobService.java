@@ -0,0 +1,63 @@
+package faang.school.projectservice.service;
+
+import faang.school.projectservice.jpa.StorageBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage: every distinct content is kept once under {@code blobs/{sha256}} and
+ * storage_blob counts the resources pointing at it. Unreferenced blobs are removed by
+ * {@link StorageBlobSweeper} after a grace period.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageBlobService {
+    private static final String BLOBS_FOLDER = "blobs";
+
+    private final StorageBlobRepository storageBlobRepository;
+    private final S3Service s3Service;
+    private final StorageOutboxService storageOutboxService;
+
+    /**
+     * Takes a reference on the blob of an uploaded staging object and moves the content there
+     * unless an identical blob is already stored. Removal of the staging object is left to the outbox.
+     */
+    public String store(String stagingKey, String contentHash, long size) {
+        String blobKey = BLOBS_FOLDER + "/" + contentHash;
+        int refCount = storageBlobRepository.acquire(contentHash, blobKey, size);
+        try {
+            if (refCount == 1 || !s3Service.exists(blobKey)) {
+                s3Service.copyFile(stagingKey, blobKey);
+            } else {
+                log.debug("Content {} is already stored, reusing blob", contentHash);
+            }
+        } catch (RuntimeException e) {
+            storageBlobRepository.release(contentHash);
+            storageOutboxService.enqueueDelete(stagingKey);
+            throw e;
+        }
+        storageOutboxService.enqueueDelete(stagingKey);
+        return blobKey;
+    }
+
+    public void release(String contentHash) {
+        storageBlobRepository.release(contentHash);
+    }
+
+    /**
+     * Deletes the blob if it is still unreferenced. The row stays locked until the S3 object is gone,
+     * so a concurrent {@link #store} of the same content waits and then uploads it again.
+     */
+    @Transactional
+    public boolean sweep(String contentHash, Duration gracePeriod) {
+        Optional<String> blobKey = storageBlobRepository.deleteUnreferenced(contentHash, gracePeriod.toSeconds());
+        blobKey.ifPresent(s3Service::deleteFile);
+        return blobKey.isPresent();
+    }
+}
@@ -0,0 +1,43 @@
+package faang.school.projectservice.service;
+
+import faang.school.projectservice.jpa.StorageBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StorageBlobSweeper {
+    private final StorageBlobRepository storageBlobRepository;
+    private final StorageBlobService storageBlobService;
+
+    @Value("${services.s3.blob-sweeper.grace-period:1h}")
+    private Duration gracePeriod;
+
+    @Value("${services.s3.blob-sweeper.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${services.s3.blob-sweeper.delay:600000}")
+    public void sweepUnreferencedBlobs() {
+        List<String> hashes = storageBlobRepository.findUnreferenced(gracePeriod.toSeconds(), batchSize);
+        int removed = 0;
+        for (String hash : hashes) {
+            try {
+                if (storageBlobService.sweep(hash, gracePeriod)) {
+                    removed++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to remove unreferenced blob {}", hash, e);
+            }
+        }
+        if (removed > 0) {
+            log.info("Removed {} unreferenced blobs", removed);
+        }
+    }
+}
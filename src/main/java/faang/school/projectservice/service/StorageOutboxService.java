@@ -0,0 +1,100 @@
+package faang.school.projectservice.service;
+
+import faang.school.projectservice.jpa.ResourceRepository;
+import faang.school.projectservice.jpa.StorageOutboxRepository;
+import faang.school.projectservice.model.StorageOperation;
+import faang.school.projectservice.model.StorageOutboxEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Storage side effects that must follow a Resource change are recorded here in the same transaction
+ * as the change itself and carried out later by {@link StorageOutboxWorker}, so S3 latency and S3
+ * failures stay out of request transactions. Failed operations are retried with exponential backoff;
+ * due times are taken from the database clock so they do not depend on the JVM time zone.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageOutboxService {
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final StorageOutboxRepository storageOutboxRepository;
+    private final ResourceRepository resourceRepository;
+    private final S3Service s3Service;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${services.s3.outbox.base-backoff:10s}")
+    private Duration baseBackoff;
+
+    @Value("${services.s3.outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Transactional
+    public void enqueueDelete(String key) {
+        if (key == null) {
+            return;
+        }
+        storageOutboxRepository.save(StorageOutboxEntry.builder()
+                .operation(StorageOperation.DELETE_OBJECT)
+                .key(key)
+                .build());
+    }
+
+    /**
+     * Executes up to {@code batchSize} due operations. The entries stay locked until the batch commits,
+     * so several instances can drain the outbox concurrently without doing the same work twice.
+     *
+     * @return number of entries taken from the outbox
+     */
+    @Transactional
+    public int processBatch(int batchSize) {
+        List<StorageOutboxEntry> entries = storageOutboxRepository.lockDue(batchSize);
+        for (StorageOutboxEntry entry : entries) {
+            try {
+                execute(entry);
+                storageOutboxRepository.delete(entry);
+            } catch (RuntimeException e) {
+                scheduleRetry(entry, e);
+            }
+        }
+        return entries.size();
+    }
+
+    private void execute(StorageOutboxEntry entry) {
+        if (entry.getOperation() == StorageOperation.DELETE_OBJECT) {
+            if (resourceRepository.existsByKey(entry.getKey())) {
+                log.info("Object {} is referenced by a resource again, skipping deletion", entry.getKey());
+                meterRegistry.counter("storage_outbox.processed", "result", "skipped").increment();
+                return;
+            }
+            s3Service.deleteFile(entry.getKey());
+        }
+        meterRegistry.counter("storage_outbox.processed", "result", "success").increment();
+    }
+
+    private void scheduleRetry(StorageOutboxEntry entry, RuntimeException e) {
+        int attempts = entry.getAttempts() + 1;
+        Duration backoff = backoff(attempts);
+        log.warn("Storage operation {} on {} failed (attempt {}), retrying in {}",
+                entry.getOperation(), entry.getKey(), attempts, backoff, e);
+
+        String error = String.valueOf(e.getMessage());
+        storageOutboxRepository.scheduleRetry(entry.getId(), attempts, backoff.toSeconds(),
+                error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        meterRegistry.counter("storage_outbox.processed", "result", "retry").increment();
+    }
+
+    Duration backoff(int attempts) {
+        int exponent = Math.min(attempts - 1, 30);
+        Duration backoff = baseBackoff.multipliedBy(1L << exponent);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
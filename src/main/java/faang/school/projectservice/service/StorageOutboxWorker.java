@@ -0,0 +1,34 @@
+package faang.school.projectservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StorageOutboxWorker {
+    private final StorageOutboxService storageOutboxService;
+
+    @Value("${services.s3.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${services.s3.outbox.max-batches:10}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${services.s3.outbox.delay:5000}")
+    public void drainOutbox() {
+        for (int batch = 0; batch < maxBatches; batch++) {
+            try {
+                if (storageOutboxService.processBatch(batchSize) < batchSize) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to process storage outbox batch", e);
+                return;
+            }
+        }
+    }
+}
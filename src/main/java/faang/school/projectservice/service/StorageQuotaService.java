@@ -0,0 +1,49 @@
+package faang.school.projectservice.service;
+
+import faang.school.projectservice.jpa.ProjectJpaRepository;
+import faang.school.projectservice.service.project.ProjectCacheEvictor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Keeps project.storage_size in the database as the single source of truth. Space is reserved with one
+ * conditional UPDATE, so concurrent uploads to a project serialize only on that statement and can never
+ * push the project over max_storage_size. Callers reserve before writing to S3 and release on failure.
+ * Only the changed project is evicted from the second-level cache, after commit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageQuotaService {
+    private final ProjectJpaRepository projectJpaRepository;
+    private final ProjectCacheEvictor projectCacheEvictor;
+
+    public void reserve(long projectId, long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        List<Long> updatedIds = projectJpaRepository.reserveStorage(projectId, bytes);
+        if (updatedIds.isEmpty()) {
+            throw new IllegalArgumentException("Storage size exceeded. Buy a subscription to increase the size of storage");
+        }
+        projectCacheEvictor.evictAfterCommit(updatedIds);
+    }
+
+    public void release(long projectId, long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        projectCacheEvictor.evictAfterCommit(projectJpaRepository.releaseStorage(projectId, bytes));
+    }
+
+    public void releaseQuietly(long projectId, long bytes) {
+        try {
+            release(projectId, bytes);
+        } catch (RuntimeException e) {
+            log.error("Failed to release {} bytes of storage for project {}", bytes, projectId, e);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package faang.school.projectservice.service;
+
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import faang.school.projectservice.jpa.JobCheckpointRepository;
+import faang.school.projectservice.jpa.ResourceRepository;
+import faang.school.projectservice.jpa.StorageBlobRepository;
+import faang.school.projectservice.service.resource.CoverImageProcessor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Finds objects in the bucket that nothing in the database points at any more, e.g. uploads whose
+ * resource row was never saved. The bucket listing and the referenced keys (resource keys, blob keys
+ * and cover rendition folders) are both walked in byte order, so orphans fall out of a single sorted
+ * merge without holding either side in memory; the next listing page is fetched while the current one
+ * is merged. Objects younger than the grace period are never touched, since their rows may still be
+ * on the way. By default orphans are only reported; with {@code delete-orphans} they are removed.
+ * Progress is checkpointed after every page, so a restarted run resumes where the previous one stopped.
+ * A throttled walk over a large bucket can take hours, so runs are handed off to a dedicated thread
+ * instead of holding the shared scheduler thread the outbox worker and other jobs depend on.
+ */
+@Slf4j
+@Component
+public class StorageReconciler {
+    static final String JOB_NAME = "storage-reconciler";
+
+    private final S3Service s3Service;
+    private final ResourceRepository resourceRepository;
+    private final StorageBlobRepository storageBlobRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final CoverImageProcessor coverImageProcessor;
+    private final ExecutorService listingExecutor;
+    private final ExecutorService runExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final boolean deleteOrphans;
+    private final Duration gracePeriod;
+    private final int pageSize;
+    private final int deleteBatchSize;
+    private final long requestIntervalNanos;
+    private final Duration lease;
+    private long nextRequestAt;
+
+    private final Timer runTimer;
+    private final Counter scannedCounter;
+    private final Counter reportedCounter;
+    private final Counter deletedCounter;
+    private final Counter orphanBytesCounter;
+    private final Counter reclaimedBytesCounter;
+
+    public StorageReconciler(S3Service s3Service,
+                             ResourceRepository resourceRepository,
+                             StorageBlobRepository storageBlobRepository,
+                             JobCheckpointRepository jobCheckpointRepository,
+                             CoverImageProcessor coverImageProcessor,
+                             MeterRegistry meterRegistry,
+                             @Value("${services.s3.reconciler.delete-orphans:false}") boolean deleteOrphans,
+                             @Value("${services.s3.reconciler.grace-period:24h}") Duration gracePeriod,
+                             @Value("${services.s3.reconciler.page-size:1000}") int pageSize,
+                             @Value("${services.s3.reconciler.delete-batch-size:100}") int deleteBatchSize,
+                             @Value("${services.s3.reconciler.max-requests-per-second:10}") int maxRequestsPerSecond,
+                             @Value("${services.s3.reconciler.lease:1h}") Duration lease) {
+        this.s3Service = s3Service;
+        this.resourceRepository = resourceRepository;
+        this.storageBlobRepository = storageBlobRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.coverImageProcessor = coverImageProcessor;
+        this.deleteOrphans = deleteOrphans;
+        this.gracePeriod = gracePeriod;
+        this.pageSize = pageSize;
+        this.deleteBatchSize = Math.min(deleteBatchSize, 1000);
+        this.requestIntervalNanos = Duration.ofSeconds(1).toNanos() / maxRequestsPerSecond;
+        this.lease = lease;
+        this.nextRequestAt = System.nanoTime();
+        this.listingExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "storage-reconciler-listing"));
+        this.runExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "storage-reconciler"));
+
+        this.runTimer = meterRegistry.timer("storage_reconciler.run.duration");
+        this.scannedCounter = meterRegistry.counter("storage_reconciler.objects.scanned");
+        this.reportedCounter = meterRegistry.counter("storage_reconciler.orphans", "action", "reported");
+        this.deletedCounter = meterRegistry.counter("storage_reconciler.orphans", "action", "deleted");
+        this.orphanBytesCounter = meterRegistry.counter("storage_reconciler.orphans.bytes");
+        this.reclaimedBytesCounter = meterRegistry.counter("storage_reconciler.bytes.reclaimed");
+    }
+
+    @Scheduled(fixedDelayString = "${services.s3.reconciler.delay:21600000}",
+            initialDelayString = "${services.s3.reconciler.initial-delay:600000}")
+    public void scheduleReconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Storage reconciliation is still running, skipping this trigger");
+            return;
+        }
+        try {
+            runExecutor.execute(() -> {
+                try {
+                    reconcile();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            log.warn("Storage reconciliation was not started, the reconciler is shutting down");
+        }
+    }
+
+    public void reconcile() {
+        List<String> checkpoint = jobCheckpointRepository.acquireLease(JOB_NAME, lease.toSeconds());
+        if (checkpoint.isEmpty()) {
+            log.debug("Storage reconciliation is already running on another instance");
+            return;
+        }
+        try {
+            runTimer.record(() -> reconcileFrom(checkpoint.get(0)));
+        } catch (RuntimeException e) {
+            log.error("Storage reconciliation failed, it will resume from the last checkpoint", e);
+        } finally {
+            jobCheckpointRepository.releaseLease(JOB_NAME);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runExecutor.shutdownNow();
+        listingExecutor.shutdown();
+    }
+
+    void reconcileFrom(String checkpoint) {
+        log.info("Storage reconciliation started {}", checkpoint == null ? "from the beginning" : "after " + checkpoint);
+        Instant createdBefore = Instant.now().minus(gracePeriod);
+        String dbStart = checkpoint == null ? "" : folderOrKey(checkpoint);
+        KeysetCursor resourceKeys = new KeysetCursor(resourceRepository::findKeysAfter, dbStart, this::folderOrKey);
+        KeysetCursor blobKeys = new KeysetCursor(storageBlobRepository::findKeysAfter, dbStart, UnaryOperator.identity());
+
+        List<S3ObjectSummary> orphans = new ArrayList<>();
+        ListObjectsV2Result page = listFiles(checkpoint, null);
+        while (true) {
+            CompletableFuture<ListObjectsV2Result> nextPage = null;
+            if (page.isTruncated()) {
+                String continuationToken = page.getNextContinuationToken();
+                nextPage = CompletableFuture.supplyAsync(() -> listFiles(null, continuationToken), listingExecutor);
+            }
+
+            for (S3ObjectSummary object : page.getObjectSummaries()) {
+                scannedCounter.increment();
+                boolean referenced = resourceKeys.covers(object.getKey()) || blobKeys.covers(object.getKey());
+                if (!referenced && object.getLastModified().toInstant().isBefore(createdBefore)) {
+                    orphans.add(object);
+                    if (orphans.size() >= deleteBatchSize) {
+                        handleOrphans(orphans);
+                    }
+                }
+            }
+            handleOrphans(orphans);
+
+            List<S3ObjectSummary> objects = page.getObjectSummaries();
+            if (!objects.isEmpty()) {
+                jobCheckpointRepository.savePosition(JOB_NAME, objects.get(objects.size() - 1).getKey(), lease.toSeconds());
+            }
+            if (nextPage == null) {
+                break;
+            }
+            page = join(nextPage);
+        }
+
+        jobCheckpointRepository.savePosition(JOB_NAME, null, lease.toSeconds());
+        log.info("Storage reconciliation finished");
+    }
+
+    private void handleOrphans(List<S3ObjectSummary> orphans) {
+        if (orphans.isEmpty()) {
+            return;
+        }
+        if (!deleteOrphans) {
+            orphans.forEach(orphan -> {
+                log.info("Orphaned object {} ({} bytes)", orphan.getKey(), orphan.getSize());
+                orphanBytesCounter.increment(orphan.getSize());
+            });
+            reportedCounter.increment(orphans.size());
+            orphans.clear();
+            return;
+        }
+
+        // a row may have started pointing at the object after its page of keys was read
+        Map<String, Long> sizes = orphans.stream()
+                .filter(orphan -> !isReferenced(orphan.getKey()))
+                .collect(Collectors.toMap(S3ObjectSummary::getKey, S3ObjectSummary::getSize));
+        orphans.clear();
+        if (sizes.isEmpty()) {
+            return;
+        }
+        throttle();
+        List<String> deleted = s3Service.deleteFiles(new ArrayList<>(sizes.keySet()));
+        long reclaimed = deleted.stream().mapToLong(sizes::get).sum();
+        deletedCounter.increment(deleted.size());
+        reclaimedBytesCounter.increment(reclaimed);
+        log.info("Deleted {} orphaned objects, reclaimed {} bytes", deleted.size(), reclaimed);
+    }
+
+    private boolean isReferenced(String key) {
+        if (coverImageProcessor.isRendition(key)) {
+            return resourceRepository.existsByKeyStartingWith(folderOrKey(key));
+        }
+        return resourceRepository.existsByKey(key) || storageBlobRepository.existsByKey(key);
+    }
+
+    /**
+     * A cover resource points at its largest rendition only, so all renditions in that folder count as referenced.
+     */
+    private String folderOrKey(String key) {
+        return coverImageProcessor.isRendition(key) ? key.substring(0, key.lastIndexOf('/') + 1) : key;
+    }
+
+    private ListObjectsV2Result listFiles(String startAfter, String continuationToken) {
+        throttle();
+        return s3Service.listFiles(startAfter, continuationToken, pageSize);
+    }
+
+    private synchronized void throttle() {
+        long now = System.nanoTime();
+        long wait = nextRequestAt - now;
+        nextRequestAt = Math.max(now, nextRequestAt) + requestIntervalNanos;
+        if (wait <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Storage reconciliation was interrupted", e);
+        }
+    }
+
+    private ListObjectsV2Result join(CompletableFuture<ListObjectsV2Result> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * S3 lists keys in UTF-8 byte order and the key queries sort with COLLATE "C", which is the same
+     * order; {@link String#compareTo} would differ for characters outside the BMP.
+     */
+    static int compareKeys(String first, String second) {
+        return Arrays.compareUnsigned(first.getBytes(StandardCharsets.UTF_8), second.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Walks referenced keys in ascending order, one keyset page at a time.
+     */
+    private class KeysetCursor {
+        private final BiFunction<String, Integer, List<String>> pageLoader;
+        private final UnaryOperator<String> mapper;
+        private final Deque<String> keys = new ArrayDeque<>();
+        private String lastLoaded;
+        private boolean exhausted;
+
+        private KeysetCursor(BiFunction<String, Integer, List<String>> pageLoader, String start,
+                             UnaryOperator<String> mapper) {
+            this.pageLoader = pageLoader;
+            this.mapper = mapper;
+            this.lastLoaded = start;
+        }
+
+        /**
+         * Skips referenced keys below {@code key} and tells whether the key itself (or its folder) is referenced.
+         * Must be called with ascending keys.
+         */
+        boolean covers(String key) {
+            String current = current();
+            while (current != null && compareKeys(current, key) < 0 && !isFolderOf(current, key)) {
+                keys.pollFirst();
+                current = current();
+            }
+            return current != null && (current.equals(key) || isFolderOf(current, key));
+        }
+
+        private String current() {
+            if (keys.isEmpty() && !exhausted) {
+                List<String> page = pageLoader.apply(lastLoaded, pageSize);
+                exhausted = page.size() < pageSize;
+                if (!page.isEmpty()) {
+                    lastLoaded = page.get(page.size() - 1);
+                }
+                page.stream().map(mapper).forEach(keys::addLast);
+            }
+            return keys.peekFirst();
+        }
+
+        private boolean isFolderOf(String folder, String key) {
+            return folder.endsWith("/") && key.startsWith(folder);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package faang.school.projectservice.service;
 
 import faang.school.projectservice.dto.client.VacancyDto;
+import faang.school.projectservice.dto.client.VacancySearchDto;
 import faang.school.projectservice.exception.DataValidationException;
 import faang.school.projectservice.mapper.VacancyMapper;
 import faang.school.projectservice.model.Project;
@@ -11,9 +12,15 @@ import faang.school.projectservice.repository.TeamMemberRepository;
 import faang.school.projectservice.repository.VacancyRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static faang.school.projectservice.model.CandidateStatus.ACCEPTED;
 import static faang.school.projectservice.model.TeamRole.OWNER;
@@ -23,6 +30,11 @@ import static faang.school.projectservice.model.VacancyStatus.CLOSED;
 @RequiredArgsConstructor
 @Slf4j
 public class VacancyService {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_QUERY_WORDS = 10;
+    private static final String NAME_WEIGHT = "A";
+    private static final String DESCRIPTION_WEIGHT = "B";
+
     private final VacancyRepository vacancyRepository;
     private final VacancyMapper vacancyMapper;
     private final TeamMemberRepository teamMemberRepository;
@@ -58,17 +70,27 @@ public class VacancyService {
         vacancyRepository.deleteById(vacancyId);
     }
 
-    public List<VacancyDto> getVacanciesWithFilters(String name, String position) {
-        List<Vacancy> vacancyWithFilter = vacancyRepository.findAll();
-        if (name != null) {
-            vacancyWithFilter = filterName(vacancyWithFilter, name);
-        }
-        if (position != null) {
-            vacancyWithFilter = filterDescription(vacancyWithFilter, position);
-        }
-        return vacancyWithFilter.stream()
-                .map(vacancyMapper::toDto)
-                .toList();
+    /**
+     * Keeps the meaning of the old filters on the search index: every name word has to prefix a word of the
+     * name (weight A) and every position word a word of the description (weight B). Results come best match
+     * first, or by id without words; a {@code sort} parameter is rejected.
+     */
+    public List<VacancyDto> getVacanciesWithFilters(String name, String position, Pageable pageable) {
+        checkUnsorted(pageable);
+        String tsQuery = Stream.of(toPrefixQuery(name, NAME_WEIGHT), toPrefixQuery(position, DESCRIPTION_WEIGHT))
+                .filter(query -> !query.isEmpty())
+                .collect(Collectors.joining(" & "));
+        return findVacancies(tsQuery, VacancySearchDto.builder().build(), pageable);
+    }
+
+    /**
+     * Full-text search over vacancy name and description. Every word of the query has to match as a prefix,
+     * so "jav dev" finds "Java developer". Without words only the status, schedule and salary filters apply.
+     * Results come best match first, or by id without words; a {@code sort} parameter is rejected.
+     */
+    public List<VacancyDto> searchVacancies(VacancySearchDto filter, Pageable pageable) {
+        checkUnsorted(pageable);
+        return findVacancies(toPrefixQuery(filter.getQuery(), ""), filter, pageable);
     }
 
     public VacancyDto getVacancy(Long id) {
@@ -76,16 +98,34 @@ public class VacancyService {
                 .orElseThrow(() -> new DataValidationException("Такой вакансии нет")));
     }
 
-    private List<Vacancy> filterName(List<Vacancy> vacancyWithFilter, String name) {
-        return vacancyWithFilter.stream()
-                .filter(vacancy -> vacancy.getName().contains(name))
+    private List<VacancyDto> findVacancies(String tsQuery, VacancySearchDto filter, Pageable pageable) {
+        String status = filter.getStatus() != null ? filter.getStatus().name() : null;
+        String workSchedule = filter.getWorkSchedule() != null ? filter.getWorkSchedule().name() : null;
+
+        List<Vacancy> vacancies = tsQuery.isEmpty()
+                ? vacancyRepository.findAllByFilters(status, workSchedule, filter.getMinSalary(),
+                filter.getMaxSalary(), pageable.getPageSize(), pageable.getOffset())
+                : vacancyRepository.search(tsQuery, status, workSchedule, filter.getMinSalary(),
+                filter.getMaxSalary(), pageable.getPageSize(), pageable.getOffset());
+        return vacancies.stream()
+                .map(vacancyMapper::toDto)
                 .toList();
     }
 
-    private List<Vacancy> filterDescription(List<Vacancy> vacancyWithFilter, String position) {
-        return vacancyWithFilter.stream()
-                .filter(vacancy -> vacancy.getDescription().contains(position))
-                .toList();
+    private void checkUnsorted(Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            throw new DataValidationException("Vacancies are ordered by relevance, sorting is not supported");
+        }
     }
-}
 
+    private String toPrefixQuery(String query, String weight) {
+        if (query == null) {
+            return "";
+        }
+        return Arrays.stream(WORD_SEPARATOR.split(query.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .limit(MAX_QUERY_WORDS)
+                .map(word -> word + ":*" + weight)
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,87 @@
+package faang.school.projectservice.service.internship;
+
+import faang.school.projectservice.jpa.JobCheckpointRepository;
+import faang.school.projectservice.repository.InternshipRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Periodically completes IN_PROGRESS internships whose end date has passed, one chunk of ids per
+ * transaction. The last completed id is checkpointed, so a restarted run continues after it.
+ */
+@Slf4j
+@Component
+public class InternshipCompletionJob {
+    static final String JOB_NAME = "internship-completion";
+
+    private final InternshipRepository internshipRepository;
+    private final InternshipCompletionService internshipCompletionService;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final int chunkSize;
+    private final Duration lease;
+
+    private final Timer runTimer;
+    private final Counter completedCounter;
+    private final Counter promotedCounter;
+    private final Counter removedCounter;
+
+    public InternshipCompletionJob(InternshipRepository internshipRepository,
+                                   InternshipCompletionService internshipCompletionService,
+                                   JobCheckpointRepository jobCheckpointRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${services.internship.completion.chunk-size:100}") int chunkSize,
+                                   @Value("${services.internship.completion.lease:30m}") Duration lease) {
+        this.internshipRepository = internshipRepository;
+        this.internshipCompletionService = internshipCompletionService;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+
+        this.runTimer = meterRegistry.timer("internship.completion.run.duration");
+        this.completedCounter = meterRegistry.counter("internship.completion.internships");
+        this.promotedCounter = meterRegistry.counter("internship.completion.interns", "outcome", "promoted");
+        this.removedCounter = meterRegistry.counter("internship.completion.interns", "outcome", "removed");
+    }
+
+    @Scheduled(fixedDelayString = "${services.internship.completion.delay:3600000}")
+    public void completeExpiredInternships() {
+        List<String> checkpoint = jobCheckpointRepository.acquireLease(JOB_NAME, lease.toSeconds());
+        if (checkpoint.isEmpty()) {
+            log.debug("Internship completion is already running on another instance");
+            return;
+        }
+        try {
+            runTimer.record(() -> completeFrom(checkpoint.get(0) == null ? 0 : Long.parseLong(checkpoint.get(0))));
+        } catch (RuntimeException e) {
+            log.error("Internship completion failed, it will resume from the last checkpoint", e);
+        } finally {
+            jobCheckpointRepository.releaseLease(JOB_NAME);
+        }
+    }
+
+    void completeFrom(long afterId) {
+        List<Long> ids = internshipRepository.findExpiredInProgressIds(afterId, chunkSize);
+        while (!ids.isEmpty()) {
+            InternshipCompletionService.Result result = internshipCompletionService.complete(ids);
+            completedCounter.increment(result.completed());
+            promotedCounter.increment(result.promoted());
+            removedCounter.increment(result.removed());
+
+            long lastId = ids.get(ids.size() - 1);
+            jobCheckpointRepository.savePosition(JOB_NAME, String.valueOf(lastId), lease.toSeconds());
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            ids = internshipRepository.findExpiredInProgressIds(lastId, chunkSize);
+        }
+        jobCheckpointRepository.savePosition(JOB_NAME, null, lease.toSeconds());
+    }
+}
@@ -0,0 +1,56 @@
+package faang.school.projectservice.service.internship;
+
+import faang.school.projectservice.dto.internship.InternOutcome;
+import faang.school.projectservice.repository.InternshipRepository;
+import faang.school.projectservice.repository.TeamMemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+import static faang.school.projectservice.model.TeamRole.DEVELOPER;
+import static faang.school.projectservice.model.TeamRole.INTERN;
+
+/**
+ * Completes finished internships in bulk: an intern whose stages have no unfinished tasks left becomes
+ * a DEVELOPER, everyone else is removed from the internship. The outcome of all interns is decided by
+ * one aggregate query and applied with a handful of set-based statements, whatever the number of interns.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InternshipCompletionService {
+    private final InternshipRepository internshipRepository;
+    private final TeamMemberRepository teamMemberRepository;
+
+    @Transactional
+    public Result complete(Collection<Long> internshipIds) {
+        if (internshipIds.isEmpty()) {
+            return new Result(0, 0, 0);
+        }
+        List<InternOutcome> outcomes = internshipRepository.findInternOutcomes(internshipIds);
+        List<Long> promoted = outcomes.stream()
+                .filter(outcome -> outcome.getOpenTasks() == 0)
+                .map(InternOutcome::getTeamMemberId)
+                .toList();
+        List<Long> removed = outcomes.stream()
+                .filter(outcome -> outcome.getOpenTasks() > 0)
+                .map(InternOutcome::getTeamMemberId)
+                .toList();
+
+        if (!removed.isEmpty()) {
+            internshipRepository.removeInterns(internshipIds, removed);
+        }
+        teamMemberRepository.removeRole(promoted, INTERN);
+        teamMemberRepository.addRole(promoted, DEVELOPER);
+        int completed = internshipRepository.markCompleted(internshipIds);
+        log.info("Completed {} internships: {} interns promoted, {} removed", completed, promoted.size(), removed.size());
+        return new Result(completed, promoted.size(), removed.size());
+    }
+
+    public record Result(int completed, int promoted, int removed) {
+    }
+}
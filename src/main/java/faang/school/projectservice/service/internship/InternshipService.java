@@ -3,6 +3,7 @@ package faang.school.projectservice.service.internship;
 import faang.school.projectservice.dto.internship.InternshipDto;
 import faang.school.projectservice.dto.internship.InternshipFilterDto;
 import faang.school.projectservice.model.TeamRole;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -19,11 +20,11 @@ public interface InternshipService {
 
     InternshipDto updateInternshipAfterEndDate(long internshipId);
 
-    List<InternshipDto> getInternshipByStatus(InternshipFilterDto filter);
+    List<InternshipDto> getInternshipByStatus(InternshipFilterDto filter, Pageable pageable);
 
-    List<InternshipDto> getInternshipByRole(InternshipFilterDto id, TeamRole role);
+    List<InternshipDto> getInternshipByRole(InternshipFilterDto filter, TeamRole role, Pageable pageable);
 
-    List<InternshipDto> getAllInternship();
+    List<InternshipDto> getAllInternship(Pageable pageable);
 
     InternshipDto getDtoById(long id);
 
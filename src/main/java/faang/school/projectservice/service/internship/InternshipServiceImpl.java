@@ -1,6 +1,7 @@
 package faang.school.projectservice.service.internship;
 
 import faang.school.projectservice.dto.internship.InternshipDto;
+import faang.school.projectservice.dto.internship.InternshipConflict;
 import faang.school.projectservice.dto.internship.InternshipFilterDto;
 import faang.school.projectservice.exeptions.DataValidationException;
 import faang.school.projectservice.exeptions.EntityNotFoundException;
@@ -16,16 +17,18 @@ import faang.school.projectservice.validation.InternshipValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.stream.Collectors;
 
-import static faang.school.projectservice.model.InternshipStatus.COMPLETED;
 import static faang.school.projectservice.model.InternshipStatus.IN_PROGRESS;
-import static faang.school.projectservice.model.TaskStatus.DONE;
 import static faang.school.projectservice.model.TeamRole.DEVELOPER;
 import static faang.school.projectservice.model.TeamRole.INTERN;
 
@@ -33,12 +36,14 @@ import static faang.school.projectservice.model.TeamRole.INTERN;
 @Slf4j
 @RequiredArgsConstructor
 public class InternshipServiceImpl implements InternshipService {
+    private static final long NEW_INTERNSHIP_ID = 0;
     private final InternshipRepository internshipRepository;
     private final InternshipMapper internshipMapper;
     private final TeamMemberRepository teamMemberRepository;
     private final TeamMemberMapper teamMemberMapper;
     private final List<InternshipFilter> filters;
     private final InternshipValidator internshipValidator;
+    private final InternshipCompletionService internshipCompletionService;
 
 
     @Transactional
@@ -51,13 +56,10 @@ public class InternshipServiceImpl implements InternshipService {
         }
         checkInternsIsNotEmpty(internshipDto);
         internshipValidator.checkInternshipDtoDate(internshipDto.getStartDate(), internshipDto.getEndDate());
+        checkScheduleConflicts(NEW_INTERNSHIP_ID, internshipDto.getMentorId(), internshipDto.getInternsId(),
+                internshipDto.getStartDate(), internshipDto.getEndDate());
         Internship internship = internshipMapper.toEntity(internshipDto);
-        List<TeamMember> interns = internshipDto.getInternsId().stream()
-                .map(teamMemberRepository::findById)
-                .peek(teamMember -> changeRole(teamMember, INTERN))
-                .toList();
-        internship.setInterns(interns);
-        internshipDto.getInternsId().forEach(id -> changeRole(teamMemberRepository.findById(id), INTERN));
+        internship.setInterns(assignInterns(internshipDto.getInternsId()));
         internship.setStatus(IN_PROGRESS);
         log.info("Status is set IN_PROGRESS");
         Internship internship1 = internshipRepository.save(internship);
@@ -72,8 +74,7 @@ public class InternshipServiceImpl implements InternshipService {
             log.error("The internship has already started");
             throw new DataValidationException("The internship has already started");
         }
-        TeamMember teamMember = teamMemberRepository.findById(teamMemberId);
-        internship.getInterns().add(teamMember);
+        internship.getInterns().addAll(assignInterns(List.of(teamMemberId)));
         return internshipMapper.toDto(internship);
     }
 
@@ -108,49 +109,55 @@ public class InternshipServiceImpl implements InternshipService {
         Internship internship = getById(internshipId);
         if (LocalDateTime.now().isBefore(internship.getEndDate()))
             throw new DataValidationException("The internship is not over");
-        internship.getInterns()
-                .removeIf(intern -> {
-                    if (checkAllTasksDone(intern)) {
-                        changeRole(intern, DEVELOPER);
-                        return false;
-                    }
-                    return true;
-                });
-        internship.setStatus(COMPLETED);
-        return internshipMapper.toDto(internship);
+        internshipCompletionService.complete(List.of(internshipId));
+        return internshipMapper.toDto(getById(internshipId));
     }
 
 
     @Transactional
-    public List<InternshipDto> getInternshipByStatus(InternshipFilterDto status) {
-        Stream<Internship> internshipStream = internshipRepository.findAll().stream();
-        return filters.stream()
-                .filter(internshipFilter -> internshipFilter.isApplicable(status))
-                .flatMap(internshipFilter -> internshipFilter.apply(internshipStream, status))
-                .map(internshipMapper::toDto)
-                .toList();
+    public List<InternshipDto> getInternshipByStatus(InternshipFilterDto filter, Pageable pageable) {
+        return findAll(toSpecification(filter), pageable);
     }
 
-    public List<InternshipDto> getInternshipByRole(InternshipFilterDto internshipFilterDto, TeamRole role) {
-        Stream<Internship> internshipStream = internshipRepository.findAll().stream();
-        return filters.stream()
-                .filter(internshipFilter -> internshipFilter.isApplicable(internshipFilterDto))
-                .flatMap(internshipFilter -> internshipFilter.apply(internshipStream, internshipFilterDto))
-                //.filter(internship -> internship.getInterns().stream().anyMatch(intern -> intern.getRoles().contains(role)))
-                .map(internshipMapper::toDto)
-                .toList();
+    @Transactional
+    public List<InternshipDto> getInternshipByRole(InternshipFilterDto filter, TeamRole role, Pageable pageable) {
+        InternshipFilterDto roleFilter = filter != null ? filter : new InternshipFilterDto();
+        roleFilter.setRole(role);
+        return findAll(toSpecification(roleFilter), pageable);
     }
 
-    public List<InternshipDto> getAllInternship() {
-        return internshipRepository.findAll().stream()
-                .map(internshipMapper::toDto)
-                .toList();
+    @Transactional
+    public List<InternshipDto> getAllInternship(Pageable pageable) {
+        return findAll(Specification.where(null), pageable);
     }
 
     public InternshipDto getDtoById(long id) {
         return internshipMapper.toDto(internshipRepository.getReferenceById(id));
     }
 
+    private List<InternshipDto> findAll(Specification<Internship> specification, Pageable pageable) {
+        List<Internship> internships = internshipRepository.findAll(specification, pageable).getContent();
+        if (!internships.isEmpty()) {
+            internshipRepository.findWithInternsByIdIn(internships.stream().map(Internship::getId).toList());
+        }
+        return internships.stream()
+                .map(internshipMapper::toDto)
+                .toList();
+    }
+
+    private Specification<Internship> toSpecification(InternshipFilterDto filter) {
+        Specification<Internship> specification = Specification.where(null);
+        if (filter == null) {
+            return specification;
+        }
+        for (InternshipFilter internshipFilter : filters) {
+            if (internshipFilter.isApplicable(filter)) {
+                specification = specification.and(internshipFilter.toSpecification(filter));
+            }
+        }
+        return specification;
+    }
+
     private Internship getById(long id) {
         return internshipRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Internship not found with id: " + id));
@@ -160,9 +167,7 @@ public class InternshipServiceImpl implements InternshipService {
         if (internshipDto.getMentorId() != null)
             internship.setMentorId(teamMemberRepository.findById(internshipDto.getMentorId()));
         if (internshipDto.getInternsId() != null)
-            internship.setInterns(internshipDto.getInternsId().stream()
-                    .map(teamMemberRepository::findById)
-                    .toList());
+            internship.setInterns(assignInterns(internshipDto.getInternsId()));
         if (internshipDto.getStartDate() != null) {
             internshipValidator.checkInternshipDtoDate(internshipDto.getStartDate(), internship.getEndDate());
             internship.setStartDate(internshipDto.getStartDate());
@@ -171,6 +176,9 @@ public class InternshipServiceImpl implements InternshipService {
             internshipValidator.checkInternshipDtoDate(internship.getStartDate(), internshipDto.getEndDate());
             internship.setEndDate(internshipDto.getEndDate());
         }
+        checkScheduleConflicts(internship.getId(), internship.getMentorId().getId(),
+                internship.getInterns().stream().map(TeamMember::getId).toList(),
+                internship.getStartDate(), internship.getEndDate());
         return internship;
     }
 
@@ -197,12 +205,6 @@ public class InternshipServiceImpl implements InternshipService {
         return internship;
     }
 
-    private boolean checkAllTasksDone(TeamMember intern) {
-        return intern.getStages().stream()
-                .flatMap(stage -> stage.getTasks().stream())
-                .allMatch(task -> task.getStatus().equals(DONE));
-    }
-
     private void changeRole(TeamMember teamMember, TeamRole role) {
         List<TeamRole> roles = teamMember.getRoles();
         if (roles == null)
@@ -217,11 +219,31 @@ public class InternshipServiceImpl implements InternshipService {
             throw new IllegalArgumentException("Invalid id");
     }
 
+    private void checkScheduleConflicts(long internshipId, Long mentorId, List<Long> internIds,
+                                        LocalDateTime startDate, LocalDateTime endDate) {
+        Set<Long> memberIds = new HashSet<>(internIds);
+        memberIds.add(mentorId);
+        List<InternshipConflict> conflicts = internshipRepository.findConflicts(memberIds, startDate, endDate, internshipId);
+        if (!conflicts.isEmpty()) {
+            String details = conflicts.stream()
+                    .map(conflict -> "team member " + conflict.getTeamMemberId() + " in internship " + conflict.getInternshipId())
+                    .collect(Collectors.joining(", "));
+            log.error("Internship dates overlap with existing internships: {}", details);
+            throw new DataValidationException("Internship dates overlap with existing internships: " + details);
+        }
+    }
+
     private void checkInternsIsNotEmpty(InternshipDto internshipDto) {
-        List<TeamMember> interns = internshipDto.getInternsId().stream()
-                .map(teamMemberRepository::findById)
-                .toList();
-        if (interns.isEmpty())
+        if (internshipDto.getInternsId() == null || internshipDto.getInternsId().isEmpty())
             throw new IllegalArgumentException("Interns list cannot be empty");
     }
+
+    /**
+     * Loads the interns with one select (failing on unknown ids) and grants them the INTERN role in bulk.
+     */
+    private List<TeamMember> assignInterns(List<Long> internIds) {
+        List<TeamMember> interns = new ArrayList<>(teamMemberRepository.findAllByIds(internIds));
+        teamMemberRepository.addRole(internIds, INTERN);
+        return interns;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package faang.school.projectservice.service.project;
+
+import faang.school.projectservice.model.Project;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evicts single projects from the second-level cache after rows were changed with native
+ * {@code UPDATE ... RETURNING id} statements. Such statements run as queries, so Hibernate leaves
+ * the cache alone and only the returned ids are dropped. Eviction waits for the commit; evicting
+ * earlier would let a concurrent reader put the old row back.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectCacheEvictor {
+    private final EntityManager entityManager;
+
+    public void evictAfterCommit(long projectId) {
+        evictAfterCommit(List.of(projectId));
+    }
+
+    public void evictAfterCommit(Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(projectIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(projectIds);
+            }
+        });
+    }
+
+    private void evict(Collection<Long> projectIds) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        projectIds.forEach(projectId -> cache.evict(Project.class, projectId));
+    }
+}
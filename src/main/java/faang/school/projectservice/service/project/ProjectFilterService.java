@@ -1,16 +1,23 @@
 package faang.school.projectservice.service.project;
 
-import faang.school.projectservice.config.context.UserContext;
 import faang.school.projectservice.dto.project.ProjectFilterDto;
 import faang.school.projectservice.filter.project.ProjectFilter;
-import faang.school.projectservice.jpa.TeamMemberJpaRepository;
+import faang.school.projectservice.jpa.ProjectJpaRepository;
 import faang.school.projectservice.model.Project;
 import faang.school.projectservice.model.ProjectVisibility;
-import faang.school.projectservice.model.TeamMember;
+import faang.school.projectservice.repository.ProjectRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 @Service
@@ -18,28 +25,76 @@ import java.util.stream.Stream;
 public class ProjectFilterService {
 
     private final List<ProjectFilter> projectFilters;
-    private final UserContext userContext;
-    private final TeamMemberJpaRepository teamMemberJpaRepository;
+    private final ProjectMembershipResolver projectMembershipResolver;
+    private final ProjectJpaRepository projectJpaRepository;
+    private final ProjectRepository projectRepository;
 
-    public Stream<Project> applyFilters(Stream<Project> projectStream, ProjectFilterDto filterDto) {
-        projectStream = filterVisibilityScope(projectStream);
+    public Page<Project> findAll(ProjectFilterDto filterDto, Pageable pageable) {
+        List<ProjectFilter> inMemoryFilters = new ArrayList<>();
+        Specification<Project> specification = toSpecification(filterDto, inMemoryFilters);
+
+        if (inMemoryFilters.isEmpty()) {
+            return projectJpaRepository.findAll(specification, pageable);
+        }
+        Stream<Project> projectStream = projectJpaRepository.findAll(specification, pageable.getSort()).stream();
+        return toPage(applyInMemory(projectStream, inMemoryFilters, filterDto).toList(), pageable);
+    }
+
+    public List<Project> findAllAfterId(ProjectFilterDto filterDto, long afterId, int limit) {
+        List<ProjectFilter> inMemoryFilters = new ArrayList<>();
+        Specification<Project> specification = toSpecification(filterDto, inMemoryFilters);
+
+        if (inMemoryFilters.isEmpty()) {
+            return projectRepository.findAllAfterId(specification, afterId, limit);
+        }
+        Specification<Project> keyset = specification.and((root, query, cb) -> cb.greaterThan(root.get("id"), afterId));
+        Stream<Project> projectStream = projectJpaRepository.findAll(keyset, Sort.by("id")).stream();
+        return applyInMemory(projectStream, inMemoryFilters, filterDto)
+                .limit(limit)
+                .toList();
+    }
+
+    private Specification<Project> toSpecification(ProjectFilterDto filterDto, List<ProjectFilter> inMemoryFilters) {
+        Specification<Project> specification = Specification.where(visibilityScope());
         for (ProjectFilter projectFilter : projectFilters) {
             if (projectFilter.isApplicable(filterDto)) {
-                projectStream = projectFilter.apply(projectStream, filterDto);
+                Optional<Specification<Project>> filterSpecification = projectFilter.toSpecification(filterDto);
+                if (filterSpecification.isPresent()) {
+                    specification = specification.and(filterSpecification.get());
+                } else {
+                    inMemoryFilters.add(projectFilter);
+                }
             }
         }
+        return specification;
+    }
+
+    private Stream<Project> applyInMemory(Stream<Project> projectStream, List<ProjectFilter> inMemoryFilters,
+                                          ProjectFilterDto filterDto) {
+        for (ProjectFilter projectFilter : inMemoryFilters) {
+            projectStream = projectFilter.apply(projectStream, filterDto);
+        }
         return projectStream;
     }
 
-    private Stream<Project> filterVisibilityScope(Stream<Project> projectStream) {
-        return projectStream.filter(project -> {
-            if (project.getVisibility().equals(ProjectVisibility.PRIVATE)) {
-                long clientUserId = userContext.getUserId();
-                TeamMember teamMember = teamMemberJpaRepository.findByUserIdAndProjectId(clientUserId, project.getId());
-                return teamMember != null;
+    private Specification<Project> visibilityScope() {
+        Set<Long> memberProjectIds = projectMembershipResolver.getMemberProjectIds();
+        return (root, query, cb) -> {
+            if (memberProjectIds.isEmpty()) {
+                return cb.notEqual(root.get("visibility"), ProjectVisibility.PRIVATE);
             }
-            return true;
-        });
+            return cb.or(cb.notEqual(root.get("visibility"), ProjectVisibility.PRIVATE),
+                    root.get("id").in(memberProjectIds));
+        };
+    }
+
+    private Page<Project> toPage(List<Project> projects, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(projects);
+        }
+        int from = (int) Math.min(pageable.getOffset(), projects.size());
+        int to = Math.min(from + pageable.getPageSize(), projects.size());
+        return new PageImpl<>(projects.subList(from, to), pageable, projects.size());
     }
 
-}
\ No newline at end of file
+}
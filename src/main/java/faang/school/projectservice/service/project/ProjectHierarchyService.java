@@ -0,0 +1,41 @@
+package faang.school.projectservice.service.project;
+
+import faang.school.projectservice.jpa.ProjectJpaRepository;
+import faang.school.projectservice.model.ProjectStatus;
+import faang.school.projectservice.model.ProjectVisibility;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Applies a change to every descendant of a project with one UPDATE over project_closure.
+ * Rows are changed in the database only, so the updated ids are evicted from the
+ * second-level cache once the transaction commits. Already loaded descendants in the
+ * current session are not refreshed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectHierarchyService {
+    private final ProjectJpaRepository projectJpaRepository;
+    private final ProjectCacheEvictor projectCacheEvictor;
+
+    @Transactional
+    public List<Long> propagateVisibility(long projectId, ProjectVisibility visibility) {
+        List<Long> updatedIds = projectJpaRepository.updateDescendantsVisibility(projectId, visibility);
+        projectCacheEvictor.evictAfterCommit(updatedIds);
+        log.info("Visibility {} propagated from project {} to {} subprojects", visibility, projectId, updatedIds.size());
+        return updatedIds;
+    }
+
+    @Transactional
+    public List<Long> propagateStatus(long projectId, ProjectStatus status) {
+        List<Long> updatedIds = projectJpaRepository.updateDescendantsStatus(projectId, status);
+        projectCacheEvictor.evictAfterCommit(updatedIds);
+        log.info("Status {} propagated from project {} to {} subprojects", status, projectId, updatedIds.size());
+        return updatedIds;
+    }
+}
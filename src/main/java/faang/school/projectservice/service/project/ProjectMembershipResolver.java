@@ -0,0 +1,53 @@
+package faang.school.projectservice.service.project;
+
+import faang.school.projectservice.config.context.UserContext;
+import faang.school.projectservice.jpa.TeamMemberJpaRepository;
+import faang.school.projectservice.model.Project;
+import faang.school.projectservice.model.ProjectVisibility;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Set;
+
+/**
+ * Resolves the projects the current user is a team member of with a single query.
+ * Inside an HTTP request the result is kept in the request attributes, so every
+ * visibility check of the same request shares it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectMembershipResolver {
+    private static final String MEMBER_PROJECT_IDS_ATTRIBUTE = ProjectMembershipResolver.class.getName() + ".memberProjectIds";
+
+    private final TeamMemberJpaRepository teamMemberJpaRepository;
+    private final UserContext userContext;
+
+    @SuppressWarnings("unchecked")
+    public Set<Long> getMemberProjectIds() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return loadMemberProjectIds();
+        }
+        Set<Long> projectIds = (Set<Long>) requestAttributes
+                .getAttribute(MEMBER_PROJECT_IDS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (projectIds == null) {
+            projectIds = loadMemberProjectIds();
+            requestAttributes.setAttribute(MEMBER_PROJECT_IDS_ATTRIBUTE, projectIds, RequestAttributes.SCOPE_REQUEST);
+        }
+        return projectIds;
+    }
+
+    public boolean isVisible(Project project) {
+        return isVisible(project.getId(), project.getVisibility());
+    }
+
+    public boolean isVisible(Long projectId, ProjectVisibility visibility) {
+        return visibility != ProjectVisibility.PRIVATE || getMemberProjectIds().contains(projectId);
+    }
+
+    private Set<Long> loadMemberProjectIds() {
+        return Set.copyOf(teamMemberJpaRepository.findProjectIdsByUserId(userContext.getUserId()));
+    }
+}
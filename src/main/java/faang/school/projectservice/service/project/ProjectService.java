@@ -3,9 +3,11 @@ package faang.school.projectservice.service.project;
 import faang.school.projectservice.dto.project.CreateSubProjectDto;
 import faang.school.projectservice.dto.project.ProjectDto;
 import faang.school.projectservice.dto.project.ProjectFilterDto;
+import faang.school.projectservice.dto.project.ProjectPageDto;
 import faang.school.projectservice.dto.project.UpdateSubProjectDto;
-import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.data.domain.Pageable;
 
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ProjectService {
@@ -19,10 +21,16 @@ public interface ProjectService {
 
     ProjectDto findById(Long id);
 
-    List<ProjectDto> getAllByFilter(ProjectFilterDto filterDto);
+    List<ProjectDto> getAllByFilter(ProjectFilterDto filterDto, Pageable pageable);
+
+    ProjectPageDto getPage(ProjectFilterDto filterDto, int size, String pageToken);
+
+    void streamAll(OutputStream outputStream);
 
     ProjectDto updateSubProject(long projectId, UpdateSubProjectDto updateSubProjectDto);
 
     List<ProjectDto> getFilteredSubProjects(long projectId, ProjectFilterDto projectFilterDto);
 
+    List<ProjectDto> getDescendants(long projectId);
+
 }
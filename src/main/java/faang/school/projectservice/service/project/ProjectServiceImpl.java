@@ -1,9 +1,14 @@
 package faang.school.projectservice.service.project;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import faang.school.projectservice.config.context.UserContext;
 import faang.school.projectservice.dto.project.CreateSubProjectDto;
+import faang.school.projectservice.dto.project.ProjectChildLink;
 import faang.school.projectservice.dto.project.ProjectDto;
+import faang.school.projectservice.dto.project.ProjectExportRow;
 import faang.school.projectservice.dto.project.ProjectFilterDto;
+import faang.school.projectservice.dto.project.ProjectPageDto;
+import faang.school.projectservice.dto.project.ProjectTreeNode;
 import faang.school.projectservice.dto.project.UpdateSubProjectDto;
 import faang.school.projectservice.exeptions.DataValidationException;
 import faang.school.projectservice.filter.project.ProjectFilter;
@@ -16,20 +21,34 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.mapstruct.factory.Mappers;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectServiceImpl implements ProjectService {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final ProjectRepository projectRepository;
     private final ProjectJpaRepository projectJpaRepository;
     private final UserContext userContext;
     private final ProjectFilterService projectFilterService;
+    private final ProjectMembershipResolver projectMembershipResolver;
+    private final ProjectHierarchyService projectHierarchyService;
     private final ProjectMapper projectMapper = Mappers.getMapper(ProjectMapper.class);
     private final MomentRepository momentRepository;
     private final List<ProjectFilter> filters;
+    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional
@@ -43,15 +62,16 @@ public class ProjectServiceImpl implements ProjectService {
     public ProjectDto updateSubProject(long projectId, UpdateSubProjectDto updateSubProjectDto) {
         Project project = getProject(projectId);
         if (updateSubProjectDto.getStatus() == ProjectStatus.COMPLETED
-                && !isEverySubProjectComplete(project)) {
+                && !isEverySubProjectComplete(projectJpaRepository.findDescendants(projectId))) {
             throw new DataValidationException
                     ("The project cannot be completed while there are open subprojects");
         }
 
-        if (updateSubProjectDto.getVisibility() == ProjectVisibility.PRIVATE
-                && !isContainsSubprojects(project)) {
-            project.getChildren()
-                    .forEach(subProject -> subProject.setVisibility(ProjectVisibility.PRIVATE));
+        if (updateSubProjectDto.getVisibility() == ProjectVisibility.PRIVATE) {
+            projectHierarchyService.propagateVisibility(projectId, ProjectVisibility.PRIVATE);
+        }
+        if (updateSubProjectDto.getStatus() == ProjectStatus.CANCELLED && project.getStatus() != ProjectStatus.CANCELLED) {
+            projectHierarchyService.propagateStatus(projectId, ProjectStatus.CANCELLED);
         }
         project.setStatus(updateSubProjectDto.getStatus());
         project.setVisibility(updateSubProjectDto.getVisibility());
@@ -65,18 +85,31 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     public List<ProjectDto> getFilteredSubProjects(long projectId, ProjectFilterDto projectFilterDto) {
-        Project project = getProject(projectId);
-        if (project.getVisibility().equals(ProjectVisibility.PRIVATE)) {
+        Project project = projectRepository.getProjectWithChildrenById(projectId);
+        if (!projectMembershipResolver.isVisible(project)) {
             throw new DataValidationException("Object unavailable");
         }
         return filters.stream()
                 .filter(projectFilter -> projectFilter.isApplicable(projectFilterDto))
-                .flatMap(projectFilter -> projectFilter.apply(project.getChildren().stream(), projectFilterDto))
+                .flatMap(projectFilter -> projectFilter.apply(project.getChildren().stream()
+                        .filter(projectMembershipResolver::isVisible), projectFilterDto))
                 .distinct()
                 .map(projectMapper::toDto)
                 .toList();
     }
 
+    @Override
+    public List<ProjectDto> getDescendants(long projectId) {
+        Project project = getProject(projectId);
+        if (!projectMembershipResolver.isVisible(project)) {
+            throw new DataValidationException("Object unavailable");
+        }
+        List<Project> descendants = projectJpaRepository.findDescendantProjects(projectId).stream()
+                .filter(projectMembershipResolver::isVisible)
+                .toList();
+        return projectMapper.toDtos(descendants);
+    }
+
     @Override
     @Transactional
     public ProjectDto create(ProjectDto projectDto) {
@@ -108,10 +141,86 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
-    public List<ProjectDto> getAllByFilter(ProjectFilterDto filterDto) {
-        List<Project> projects = projectJpaRepository.findAll();
-        List<Project> projectFilteredList = projectFilterService.applyFilters(projects.stream(), filterDto).toList();
-        return projectMapper.toDtos(projectFilteredList);
+    public List<ProjectDto> getAllByFilter(ProjectFilterDto filterDto, Pageable pageable) {
+        ProjectFilterDto filter = Optional.ofNullable(filterDto).orElseGet(ProjectFilterDto::new);
+        Page<Project> projects = projectFilterService.findAll(filter, pageable);
+        return projectMapper.toDtos(projects.getContent());
+    }
+
+    @Override
+    public ProjectPageDto getPage(ProjectFilterDto filterDto, int size, String pageToken) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new DataValidationException(String.format("Page size should be between 1 and %d", MAX_PAGE_SIZE));
+        }
+        ProjectFilterDto filter = Optional.ofNullable(filterDto).orElseGet(ProjectFilterDto::new);
+        long afterId = decodePageToken(pageToken);
+        List<Project> projects = projectFilterService.findAllAfterId(filter, afterId, size + 1);
+
+        boolean hasNext = projects.size() > size;
+        List<Project> page = hasNext ? projects.subList(0, size) : projects;
+        String nextPageToken = hasNext ? encodePageToken(page.get(page.size() - 1).getId()) : null;
+        return ProjectPageDto.builder()
+                .content(projectMapper.toDtos(page))
+                .nextPageToken(nextPageToken)
+                .build();
+    }
+
+    /**
+     * Streams flat rows instead of entities, so no parent, schedule or children are loaded per project.
+     * Child ids are looked up with one query per chunk of visible rows.
+     */
+    @Override
+    @Transactional
+    public void streamAll(OutputStream outputStream) {
+        try (Stream<ProjectExportRow> projects = projectJpaRepository.streamAll()) {
+            List<ProjectExportRow> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<ProjectExportRow> iterator = projects.iterator();
+            while (iterator.hasNext()) {
+                ProjectExportRow project = iterator.next();
+                if (projectMembershipResolver.isVisible(project.getId(), project.getVisibility())) {
+                    chunk.add(project);
+                }
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    writeChunk(chunk, outputStream);
+                    chunk.clear();
+                }
+            }
+            writeChunk(chunk, outputStream);
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Projects streaming error", e);
+        }
+    }
+
+    private void writeChunk(List<ProjectExportRow> chunk, OutputStream outputStream) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Long>> childrenIds = projectJpaRepository
+                .findChildLinks(chunk.stream().map(ProjectExportRow::getId).toList()).stream()
+                .collect(Collectors.groupingBy(ProjectChildLink::getParentProjectId,
+                        Collectors.mapping(ProjectChildLink::getId, Collectors.toList())));
+        for (ProjectExportRow project : chunk) {
+            ProjectDto projectDto = projectMapper.toDto(project, childrenIds.getOrDefault(project.getId(), List.of()));
+            outputStream.write(objectMapper.writeValueAsBytes(projectDto));
+            outputStream.write('\n');
+        }
+    }
+
+    private String encodePageToken(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodePageToken(String pageToken) {
+        if (pageToken == null || pageToken.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new DataValidationException("Invalid page token: " + pageToken);
+        }
     }
 
     private Project getProject(Long id) {
@@ -144,12 +253,8 @@ public class ProjectServiceImpl implements ProjectService {
         return entitySubProject;
     }
 
-    private boolean isContainsSubprojects(Project projectToUpdate) {
-        return projectToUpdate.getChildren() == null || projectToUpdate.getChildren().isEmpty();
-    }
-
-    private boolean isEverySubProjectComplete(Project projectToUpdate) {
-        return isContainsSubprojects(projectToUpdate) || projectToUpdate.getChildren().stream()
+    private boolean isEverySubProjectComplete(List<ProjectTreeNode> descendants) {
+        return descendants.stream()
                 .allMatch(subProject -> subProject.getStatus() == ProjectStatus.COMPLETED);
     }
 
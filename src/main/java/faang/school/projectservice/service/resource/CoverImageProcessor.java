@@ -0,0 +1,181 @@
+package faang.school.projectservice.service.resource;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import faang.school.projectservice.jpa.ResourceRepository;
+import faang.school.projectservice.model.Resource;
+import faang.school.projectservice.model.ResourceStatus;
+import faang.school.projectservice.service.s3.S3Service;
+import faang.school.projectservice.util.ImageHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resizes uploaded cover images off the request thread. The raw image is already stored and its
+ * resource is PENDING; a worker writes every configured rendition and flips the status to ACTIVE
+ * (or FAILED). Renditions live under {@code covering-images/renditions/{sha256}/{size}.{format}}, so
+ * re-uploading an identical image reuses the existing objects and the raw upload is dropped.
+ * The queue is bounded, so a burst beyond its capacity is rejected instead of piling images up in memory.
+ */
+@Slf4j
+@Component
+public class CoverImageProcessor {
+
+    private final ResourceRepository resourceRepository;
+    private final S3Service s3Service;
+    private static final String RENDITIONS_FOLDER = "covering-images/renditions";
+
+    private final List<Integer> renditionSizes;
+    private final int coverResolution;
+    private final ThreadPoolExecutor executor;
+    private final Timer processingTimer;
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Counter reusedCounter;
+
+    public CoverImageProcessor(ResourceRepository resourceRepository,
+                               S3Service s3Service,
+                               MeterRegistry meterRegistry,
+                               @Value("${services.cover-image.rendition-sizes:64,256,1080}") List<Integer> renditionSizes,
+                               @Value("${services.cover-image.workers:2}") int workers,
+                               @Value("${services.cover-image.queue-capacity:50}") int queueCapacity) {
+        this.resourceRepository = resourceRepository;
+        this.s3Service = s3Service;
+        this.renditionSizes = renditionSizes.stream().sorted().toList();
+        this.coverResolution = this.renditionSizes.get(this.renditionSizes.size() - 1);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "cover-image-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("cover_image.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Cover images waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("cover_image.workers.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        this.processingTimer = meterRegistry.timer("cover_image.processing.duration");
+        this.processedCounter = meterRegistry.counter("cover_image.processed", "result", "success");
+        this.failedCounter = meterRegistry.counter("cover_image.processed", "result", "failure");
+        this.rejectedCounter = meterRegistry.counter("cover_image.rejected");
+        this.reusedCounter = meterRegistry.counter("cover_image.renditions.reused");
+    }
+
+    public boolean hasCapacity() {
+        return executor.getQueue().remainingCapacity() > 0;
+    }
+
+    public void submit(Long resourceId, byte[] imageBytes, String contentType) {
+        try {
+            executor.execute(() -> processingTimer.record(() -> process(resourceId, imageBytes, contentType)));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    void process(Long resourceId, byte[] imageBytes, String contentType) {
+        Resource resource = resourceRepository.findById(resourceId).orElse(null);
+        if (resource == null) {
+            log.warn("Cover image resource {} was removed before processing", resourceId);
+            return;
+        }
+
+        try {
+            String imageFormat = contentType.split("/")[1];
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(imageBytes));
+            Dimension dimension = ImageHandler.readDimensions(imageBytes);
+            int longerSide = Math.max(dimension.width, dimension.height);
+
+            BufferedImage image = null;
+            Long coverSize = null;
+            for (Integer size : renditionSizes) {
+                String key = renditionKey(hash, size, imageFormat);
+                if (s3Service.exists(key)) {
+                    reusedCounter.increment();
+                    continue;
+                }
+                if (image == null) {
+                    image = ImageHandler.readSubsampled(imageBytes, coverResolution);
+                }
+                byte[] rendition = ImageHandler.changeSize(image, imageFormat, Math.min(size, longerSide));
+                s3Service.putFile(key, rendition, metadata(rendition.length, contentType));
+                if (size == coverResolution) {
+                    coverSize = (long) rendition.length;
+                }
+            }
+
+            String rawKey = resource.getKey();
+            String coverKey = renditionKey(hash, coverResolution, imageFormat);
+            if (coverSize == null) {
+                coverSize = s3Service.getFileMetadata(coverKey).getContentLength();
+            }
+            resource.setKey(coverKey);
+            resource.setSize(BigInteger.valueOf(coverSize));
+            s3Service.deleteFile(rawKey);
+
+            resource.setStatus(ResourceStatus.ACTIVE);
+            processedCounter.increment();
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            log.error("Processing of cover image {} failed", resourceId, e);
+            resource.setStatus(ResourceStatus.FAILED);
+            failedCounter.increment();
+        }
+        resource.setUpdatedAt(LocalDateTime.now());
+        resourceRepository.save(resource);
+    }
+
+    /**
+     * Picks the smallest rendition that is at least {@code requestedSize}, or the largest one.
+     */
+    public String chooseRenditionKey(String coverKey, int requestedSize) {
+        int size = renditionSizes.stream()
+                .filter(renditionSize -> renditionSize >= requestedSize)
+                .findFirst()
+                .orElse(coverResolution);
+        String folder = coverKey.substring(0, coverKey.lastIndexOf('/') + 1);
+        String extension = coverKey.substring(coverKey.lastIndexOf('.'));
+        return folder + size + extension;
+    }
+
+    public boolean isRendition(String key) {
+        return key != null && key.startsWith(RENDITIONS_FOLDER + "/");
+    }
+
+    private String renditionKey(String hash, int size, String imageFormat) {
+        return String.format("%s/%s/%d.%s", RENDITIONS_FOLDER, hash, size, imageFormat);
+    }
+
+    private ObjectMetadata metadata(long contentLength, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(contentLength);
+        metadata.setContentType(contentType);
+        return metadata;
+    }
+}
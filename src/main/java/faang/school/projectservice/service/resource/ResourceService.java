@@ -1,11 +1,16 @@
 package faang.school.projectservice.service.resource;
 
 import faang.school.projectservice.dto.client.ResourceDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface ResourceService {
 
     ResourceDto addResource(ResourceDto resourceDto);
     ResourceDto addCoveringImageToProject(MultipartFile file, Long projectId);
+    ResourceDto getResource(Long resourceId);
+    ResponseEntity<StreamingResponseBody> getCoveringImageRendition(Long resourceId, int size, HttpHeaders requestHeaders);
 
 }
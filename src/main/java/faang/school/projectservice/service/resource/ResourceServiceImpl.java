@@ -1,6 +1,7 @@
 package faang.school.projectservice.service.resource;
 
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
 import faang.school.projectservice.dto.client.ResourceDto;
 import faang.school.projectservice.exceptions.DBException;
 import faang.school.projectservice.exceptions.FileException;
@@ -9,19 +10,26 @@ import faang.school.projectservice.jpa.ProjectJpaRepository;
 import faang.school.projectservice.jpa.ResourceRepository;
 import faang.school.projectservice.mapper.resource.ResourceMapper;
 import faang.school.projectservice.model.Resource;
+import faang.school.projectservice.model.ResourceStatus;
 import faang.school.projectservice.service.s3.S3Service;
-import faang.school.projectservice.util.ImageHandler;
+import faang.school.projectservice.util.ConditionalRequest;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.mapstruct.factory.Mappers;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +39,7 @@ public class ResourceServiceImpl implements ResourceService {
     private final ResourceMapper resourceMapper = Mappers.getMapper(ResourceMapper.class);
     private final ProjectJpaRepository projectJpaRepository;
     private final S3Service s3Service;
+    private final CoverImageProcessor coverImageProcessor;
 
     @Override
     public ResourceDto addResource(ResourceDto resourceDto) {
@@ -38,16 +47,21 @@ public class ResourceServiceImpl implements ResourceService {
         return resourceMapper.toDto(savedResource);
     }
 
+    /**
+     * Stores the raw image and returns a PENDING resource right away; resizing happens in
+     * {@link CoverImageProcessor}. When its queue is full the upload is refused up front.
+     */
     @Override
-    @Transactional
     public ResourceDto addCoveringImageToProject(MultipartFile file, Long projectId) {
         validateProjectExist(projectId);
         validateMaxSize(file);
+        if (!coverImageProcessor.hasCapacity()) {
+            throw new RejectedExecutionException("Too many cover images are being processed, try again later");
+        }
 
         String folderName = String.format("covering-images/%d", projectId);
         String originalFileName = file.getOriginalFilename();
-
-        byte[] imageBytes = reducePictureIfNecessary(file);
+        byte[] imageBytes = readBytes(file);
 
         ObjectMetadata metadata = new ObjectMetadata();
         metadata.setContentLength(imageBytes.length);
@@ -56,7 +70,8 @@ public class ResourceServiceImpl implements ResourceService {
         Resource resource = null;
         try {
             resource = s3Service.uploadFile(imageBytes, folderName, originalFileName, metadata, projectId);
-            return addResource(resourceMapper.toDto(resource));
+            resource.setStatus(ResourceStatus.PENDING);
+            resource = resourceRepository.save(resource);
         } catch (RuntimeException e) {
             if (resource != null) {
                 s3Service.deleteFile(resource.getKey());
@@ -64,6 +79,60 @@ public class ResourceServiceImpl implements ResourceService {
             }
             throw new S3Exception("Saving image to S3 error. Image: " + originalFileName);
         }
+
+        try {
+            coverImageProcessor.submit(resource.getId(), imageBytes, file.getContentType());
+        } catch (RejectedExecutionException e) {
+            s3Service.deleteFile(resource.getKey());
+            resourceRepository.delete(resource);
+            throw e;
+        }
+        return resourceMapper.toDto(resource);
+    }
+
+    @Override
+    public ResourceDto getResource(Long resourceId) {
+        return resourceRepository.findById(resourceId)
+                .map(resourceMapper::toDto)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Resource with id = %d not exist", resourceId)));
+    }
+
+    /**
+     * Renditions are content-addressed and never change, so they are served with a year-long
+     * public cache lifetime and their key as ETag. A revalidation with a matching If-None-Match is
+     * answered with 304 without touching S3; otherwise the object is opened only when the body is written.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> getCoveringImageRendition(Long resourceId, int size,
+                                                                           HttpHeaders requestHeaders) {
+        Resource resource = resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Resource with id = %d not exist", resourceId)));
+        if (resource.getStatus() != ResourceStatus.ACTIVE || !coverImageProcessor.isRendition(resource.getKey())) {
+            throw new EntityNotFoundException(String.format("Cover image of resource with id = %d is not available", resourceId));
+        }
+
+        String key = coverImageProcessor.chooseRenditionKey(resource.getKey(), size);
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(365)).cachePublic();
+        String eTag = "\"" + key + "\"";
+        if (ConditionalRequest.isNotModified(requestHeaders, eTag, null)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .eTag(eTag)
+                    .build();
+        }
+        ObjectMetadata metadata = s3Service.getFileMetadata(key);
+        StreamingResponseBody body = outputStream -> {
+            try (S3Object s3Object = s3Service.getFile(key);
+                 InputStream inputStream = s3Object.getObjectContent()) {
+                inputStream.transferTo(outputStream);
+            }
+        };
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(eTag)
+                .contentLength(metadata.getContentLength())
+                .contentType(MediaType.parseMediaType(metadata.getContentType()))
+                .body(body);
     }
 
     private void validateMaxSize(MultipartFile file) {
@@ -73,16 +142,8 @@ public class ResourceServiceImpl implements ResourceService {
         }
     }
 
-    private byte[] reducePictureIfNecessary(MultipartFile file) {
-        int maxResolution = 1080;
-        String imageFormat = file.getContentType().split("/")[1];
+    private byte[] readBytes(MultipartFile file) {
         try {
-            BufferedImage bufferedImage = ImageIO.read(file.getInputStream());
-            int width = bufferedImage.getWidth();
-            int height = bufferedImage.getHeight();
-            if (width > maxResolution || height > maxResolution) {
-                return ImageHandler.changeSize(bufferedImage, imageFormat, maxResolution);
-            }
             return file.getBytes();
         } catch (IOException e) {
             throw new FileException("Reading image error: " + file.getOriginalFilename());
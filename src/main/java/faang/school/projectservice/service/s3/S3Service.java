@@ -1,12 +1,21 @@
 package faang.school.projectservice.service.s3;
 
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
 import faang.school.projectservice.model.Resource;
 
 public interface S3Service {
 
     Resource uploadFile(byte[] bytes, String folderName, String originalFileName, ObjectMetadata metadata, Long projectId);
 
+    void putFile(String key, byte[] bytes, ObjectMetadata metadata);
+
+    boolean exists(String key);
+
+    S3Object getFile(String key);
+
+    ObjectMetadata getFileMetadata(String key);
+
     void deleteFile(String key);
 
 }
@@ -4,6 +4,7 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.DeleteObjectRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
 import faang.school.projectservice.model.Project;
 import faang.school.projectservice.model.Resource;
 import faang.school.projectservice.model.ResourceStatus;
@@ -44,6 +45,26 @@ public class S3ServiceImpl implements S3Service {
                 .build();
     }
 
+    @Override
+    public void putFile(String key, byte[] bytes, ObjectMetadata metadata) {
+        s3Client.putObject(new PutObjectRequest(bucketName, key, new ByteArrayInputStream(bytes), metadata));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return s3Client.doesObjectExist(bucketName, key);
+    }
+
+    @Override
+    public S3Object getFile(String key) {
+        return s3Client.getObject(bucketName, key);
+    }
+
+    @Override
+    public ObjectMetadata getFileMetadata(String key) {
+        return s3Client.getObjectMetadata(bucketName, key);
+    }
+
     @Override
     public void deleteFile(String key) {
         s3Client.deleteObject(new DeleteObjectRequest(bucketName, key));
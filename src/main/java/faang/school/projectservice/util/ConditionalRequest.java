@@ -0,0 +1,42 @@
+package faang.school.projectservice.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Conditional GET evaluation for handlers that return a {@code StreamingResponseBody}: Spring only
+ * checks preconditions for plain {@code HttpEntity} bodies, so streaming handlers have to answer 304 themselves.
+ */
+@UtilityClass
+public class ConditionalRequest {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    /**
+     * Follows RFC 9110 13.2.2: If-None-Match is compared weakly and, when present, If-Modified-Since is ignored.
+     *
+     * @param eTag         the current entity tag, quoted
+     * @param lastModified the current modification time, or {@code null} if unknown
+     */
+    public boolean isNotModified(HttpHeaders requestHeaders, String eTag, Instant lastModified) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            return ifNoneMatch.stream()
+                    .anyMatch(candidate -> candidate.equals("*") || weakEquals(candidate, eTag));
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return ifModifiedSince != -1 && lastModified != null
+                && lastModified.getEpochSecond() <= ifModifiedSince / 1000;
+    }
+
+    private boolean weakEquals(String first, String second) {
+        return second != null && stripWeak(first.trim()).equals(stripWeak(second));
+    }
+
+    private String stripWeak(String eTag) {
+        return eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
+    }
+}
@@ -3,21 +3,83 @@ package faang.school.projectservice.util;
 import lombok.experimental.UtilityClass;
 import net.coobird.thumbnailator.Thumbnails;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Dimension;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 
 @UtilityClass
 public class ImageHandler {
 
     public byte[] changeSize(BufferedImage bufferedImage, String imageFormat, int maxResolution) throws IOException {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        changeSize(bufferedImage, imageFormat, maxResolution, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    public void changeSize(BufferedImage bufferedImage, String imageFormat, int maxResolution,
+                           OutputStream outputStream) throws IOException {
         Thumbnails.of(bufferedImage)
                 .size(maxResolution, maxResolution)
                 .outputQuality(1.0)
                 .outputFormat(imageFormat)
                 .toOutputStream(outputStream);
-        return outputStream.toByteArray();
+    }
+
+    /**
+     * Reads the image size from the header only, without decoding any pixels.
+     */
+    public Dimension readDimensions(byte[] imageBytes) throws IOException {
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            ImageReader reader = getReader(inputStream);
+            try {
+                reader.setInput(inputStream, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Decodes the image with source subsampling so that the decoded raster is only as large as needed
+     * to produce a {@code maxResolution} image: an 8000x6000 photo decoded for 1080px keeps roughly
+     * 1/49 of the pixels instead of the full 190MB raster. The result is still at least
+     * {@code maxResolution} on its longer side and is meant to be finished with {@link #changeSize}.
+     */
+    public BufferedImage readSubsampled(byte[] imageBytes, int maxResolution) throws IOException {
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            ImageReader reader = getReader(inputStream);
+            try {
+                reader.setInput(inputStream, true, true);
+                int longerSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longerSide / maxResolution);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private ImageReader getReader(ImageInputStream inputStream) throws IOException {
+        if (inputStream == null) {
+            throw new IOException("Image can not be read");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+        if (!readers.hasNext()) {
+            throw new IOException("Unsupported image format");
+        }
+        return readers.next();
     }
 
 }
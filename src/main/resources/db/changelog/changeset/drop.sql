@@ -2,7 +2,11 @@ DROP TABLE team;
 DROP TABLE team_member;
 DROP TABLE task;
 DROP TABLE resource;
+DROP TABLE storage_blob;
+DROP TABLE storage_outbox;
+DROP TABLE job_checkpoint;
 DROP TABLE schedule;
+DROP TABLE project_closure;
 DROP TABLE project;
 DROP TABLE project_stage;
 DROP TABLE project_stage_roles;
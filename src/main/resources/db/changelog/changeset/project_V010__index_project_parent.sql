@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_project_parent_project_id ON project (parent_project_id);
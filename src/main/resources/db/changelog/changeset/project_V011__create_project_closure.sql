@@ -0,0 +1,78 @@
+--liquibase formatted sql
+
+--changeset project-service:project_V011_create_project_closure
+CREATE TABLE IF NOT EXISTS project_closure
+(
+    ancestor_id   BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth         INT    NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT fk_project_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES project (id) ON DELETE CASCADE,
+    CONSTRAINT fk_project_closure_descendant FOREIGN KEY (descendant_id) REFERENCES project (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_project_closure_descendant ON project_closure (descendant_id, depth);
+
+INSERT INTO project_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE paths AS (
+    SELECT id AS ancestor_id, id AS descendant_id, 0 AS depth
+    FROM project
+    UNION ALL
+    SELECT paths.ancestor_id, p.id, paths.depth + 1
+    FROM paths
+    JOIN project p ON p.parent_project_id = paths.descendant_id
+)
+SELECT ancestor_id, descendant_id, depth
+FROM paths;
+
+--changeset project-service:project_V011_project_closure_triggers splitStatements:false
+CREATE OR REPLACE FUNCTION project_closure_on_insert() RETURNS TRIGGER AS
+$$
+BEGIN
+    INSERT INTO project_closure (ancestor_id, descendant_id, depth)
+    SELECT NEW.id, NEW.id, 0
+    UNION ALL
+    SELECT c.ancestor_id, NEW.id, c.depth + 1
+    FROM project_closure c
+    WHERE c.descendant_id = NEW.parent_project_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_project_closure_insert
+    AFTER INSERT
+    ON project
+    FOR EACH ROW
+EXECUTE FUNCTION project_closure_on_insert();
+
+CREATE OR REPLACE FUNCTION project_closure_on_reparent() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF NEW.parent_project_id IS NOT NULL AND EXISTS(SELECT 1
+                                                   FROM project_closure
+                                                   WHERE ancestor_id = NEW.id
+                                                     AND descendant_id = NEW.parent_project_id) THEN
+        RAISE EXCEPTION 'Project % cannot be moved under its own subproject %', NEW.id, NEW.parent_project_id;
+    END IF;
+
+    DELETE
+    FROM project_closure
+    WHERE descendant_id IN (SELECT descendant_id FROM project_closure WHERE ancestor_id = NEW.id)
+      AND ancestor_id IN (SELECT ancestor_id FROM project_closure WHERE descendant_id = NEW.id AND ancestor_id <> NEW.id);
+
+    INSERT INTO project_closure (ancestor_id, descendant_id, depth)
+    SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1
+    FROM project_closure a
+    CROSS JOIN project_closure d
+    WHERE a.descendant_id = NEW.parent_project_id
+      AND d.ancestor_id = NEW.id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_project_closure_reparent
+    AFTER UPDATE OF parent_project_id
+    ON project
+    FOR EACH ROW
+    WHEN (OLD.parent_project_id IS DISTINCT FROM NEW.parent_project_id)
+EXECUTE FUNCTION project_closure_on_reparent();
@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS storage_blob (
+    hash       VARCHAR(64) PRIMARY KEY,
+    key        VARCHAR(255) NOT NULL,
+    size       BIGINT       NOT NULL,
+    ref_count  INT          NOT NULL DEFAULT 0,
+    created_at TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_storage_blob_unreferenced ON storage_blob (updated_at) WHERE ref_count = 0;
+
+ALTER TABLE resource ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_resource_project_content_hash ON resource (project_id, content_hash);
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS storage_outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    operation       VARCHAR(32)  NOT NULL,
+    key             VARCHAR(255) NOT NULL,
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP    NOT NULL DEFAULT now(),
+    last_error      VARCHAR(1024),
+    created_at      TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_storage_outbox_next_attempt_at ON storage_outbox (next_attempt_at);
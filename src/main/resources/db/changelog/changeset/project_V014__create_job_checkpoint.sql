@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS job_checkpoint (
+    job_name     VARCHAR(64) PRIMARY KEY,
+    position     VARCHAR(1024),
+    locked_until TIMESTAMP,
+    updated_at   TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_resource_key_c ON resource (key COLLATE "C") WHERE key IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_storage_blob_key_c ON storage_blob (key COLLATE "C");
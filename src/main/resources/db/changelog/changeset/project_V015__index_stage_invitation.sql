@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS idx_stage_invitation_invited_status ON stage_invitation (invited, status);
+
+CREATE INDEX IF NOT EXISTS idx_stage_invitation_author_status ON stage_invitation (author, status);
+
+CREATE INDEX IF NOT EXISTS idx_team_member_user_id ON team_member (user_id);
@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS idx_internship_in_progress_id ON internship (id) WHERE status = 'IN_PROGRESS';
+
+CREATE INDEX IF NOT EXISTS idx_project_stage_executors_executor_id ON project_stage_executors (executor_id);
+
+CREATE INDEX IF NOT EXISTS idx_task_stage_id ON task (stage_id);
@@ -0,0 +1,7 @@
+CREATE INDEX IF NOT EXISTS idx_internship_status ON internship (status);
+
+CREATE INDEX IF NOT EXISTS idx_internship_project_id ON internship (project_id);
+
+CREATE INDEX IF NOT EXISTS idx_internship_interns_team_member_id ON internship_interns (team_member_id);
+
+CREATE INDEX IF NOT EXISTS idx_internship_interns_internship_id ON internship_interns (internship_id);
@@ -0,0 +1,9 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX IF NOT EXISTS idx_internship_mentor_period ON internship
+    USING gist (mentor_id, tsrange(start_date, end_date, '[)'))
+    WHERE status = 'IN_PROGRESS';
+
+CREATE INDEX IF NOT EXISTS idx_internship_period ON internship
+    USING gist (tsrange(start_date, end_date, '[)'))
+    WHERE status = 'IN_PROGRESS';
@@ -0,0 +1,28 @@
+--liquibase formatted sql
+
+--changeset project-service:project_V019_vacancy_search_vector
+ALTER TABLE vacancy ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+UPDATE vacancy
+SET search_vector = setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+                    setweight(to_tsvector('simple', coalesce(description, '')), 'B');
+
+CREATE INDEX IF NOT EXISTS idx_vacancy_search_vector ON vacancy USING gin (search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_vacancy_status_id ON vacancy (status, id);
+
+--changeset project-service:project_V019_vacancy_search_trigger splitStatements:false
+CREATE OR REPLACE FUNCTION vacancy_search_vector_update() RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.search_vector := setweight(to_tsvector('simple', coalesce(NEW.name, '')), 'A') ||
+                         setweight(to_tsvector('simple', coalesce(NEW.description, '')), 'B');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_vacancy_search_vector
+    BEFORE INSERT OR UPDATE OF name, description
+    ON vacancy
+    FOR EACH ROW
+EXECUTE FUNCTION vacancy_search_vector_update();
@@ -0,0 +1,4 @@
+-- Blob and cover rendition keys are shared by every resource with the same content, so only keys a
+-- resource owns alone (presigned and legacy uploads) must be unique.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_resource_key ON resource (key)
+    WHERE key IS NOT NULL AND content_hash IS NULL AND key NOT LIKE 'covering-images/renditions/%';
@@ -0,0 +1,137 @@
+package faang.school.projectservice.client;
+
+import faang.school.projectservice.config.context.UserContext;
+import faang.school.projectservice.dto.client.UserDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedUserServiceClientTest {
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private final UserContext userContext = new UserContext();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CachedUserServiceClient cachedUserServiceClient;
+
+    @BeforeEach
+    void init() {
+        cachedUserServiceClient = new CachedUserServiceClient(userServiceClient, userContext, meterRegistry,
+                100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMillis(50), 100, Duration.ofSeconds(5));
+        userContext.setUserId(7L);
+    }
+
+    @AfterEach
+    void shutdown() {
+        cachedUserServiceClient.shutdown();
+        userContext.clear();
+    }
+
+    /**
+     * The batch window is driven by a mocked scheduler: the flush only runs once every caller is
+     * parked on its future, so the test does not depend on how fast the callers are started.
+     */
+    @Test
+    void testConcurrentLookupsAreCoalescedIntoOneBatch() throws Exception {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        CachedUserServiceClient client = new CachedUserServiceClient(userServiceClient, userContext, meterRegistry,
+                100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMillis(50), 100, Duration.ofMinutes(1),
+                scheduler);
+        when(userServiceClient.getUsersByIds(anyList())).thenReturn(List.of(user(1L), user(2L)));
+
+        FutureTask<UserDto> first = startLookup(client, 1L);
+        FutureTask<UserDto> second = startLookup(client, 2L);
+        FutureTask<UserDto> duplicate = startLookup(client, 1L);
+
+        ArgumentCaptor<Runnable> flushCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(flushCaptor.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+        verify(scheduler, never()).execute(any());
+        flushCaptor.getValue().run();
+
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(2L, second.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1L, duplicate.get(5, TimeUnit.SECONDS).getId());
+        ArgumentCaptor<List<Long>> idsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(userServiceClient, times(1)).getUsersByIds(idsCaptor.capture());
+        assertEquals(List.of(1L, 2L), idsCaptor.getValue());
+    }
+
+    @Test
+    void testCachedUserIsNotRequestedAgain() {
+        when(userServiceClient.getUsersByIds(List.of(1L))).thenReturn(List.of(user(1L)));
+
+        cachedUserServiceClient.getUser(1L);
+        UserDto result = cachedUserServiceClient.getUser(1L);
+
+        assertEquals(1L, result.getId());
+        verify(userServiceClient, times(1)).getUsersByIds(anyList());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testMissingUserIsNegativelyCached() {
+        when(userServiceClient.getUsersByIds(List.of(3L))).thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class, () -> cachedUserServiceClient.getUser(3L));
+        assertThrows(EntityNotFoundException.class, () -> cachedUserServiceClient.getUser(3L));
+
+        verify(userServiceClient, times(1)).getUsersByIds(anyList());
+    }
+
+    @Test
+    void testFailedBatchIsNotCached() {
+        when(userServiceClient.getUsersByIds(List.of(4L)))
+                .thenThrow(new IllegalStateException("user-service is down"))
+                .thenReturn(List.of(user(4L)));
+
+        assertThrows(IllegalStateException.class, () -> cachedUserServiceClient.getUser(4L));
+        assertEquals(4L, cachedUserServiceClient.getUser(4L).getId());
+    }
+
+    /**
+     * Starts a lookup on its own thread and returns once that thread waits for the batch result.
+     */
+    private FutureTask<UserDto> startLookup(CachedUserServiceClient client, long userId) throws InterruptedException {
+        FutureTask<UserDto> lookup = new FutureTask<>(() -> client.getUser(userId));
+        Thread thread = new Thread(lookup, "lookup-" + userId);
+        thread.setDaemon(true);
+        thread.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(System.nanoTime() < deadline, "Lookup of user " + userId + " did not start waiting");
+            Thread.sleep(1);
+        }
+        return lookup;
+    }
+
+    private UserDto user(long id) {
+        UserDto user = new UserDto();
+        user.setId(id);
+        return user;
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -47,7 +48,8 @@ public class ResourceControllerTest {
 
     @Test
     void testDownloadResource() {
-        resourceController.downloadResource(1L);
-        verify(resourceService, times(1)).downloadResource(1L);
+        HttpHeaders headers = new HttpHeaders();
+        resourceController.downloadResource(1L, headers);
+        verify(resourceService, times(1)).downloadResource(1L, headers);
     }
 }
@@ -13,6 +13,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 @ExtendWith(MockitoExtension.class)
 class InternshipControllerTest {
@@ -26,6 +28,7 @@ class InternshipControllerTest {
     private TeamMemberDto teamMemberDto;
     private InternshipFilterDto filter;
     private TeamRole teamRole;
+    private final Pageable pageable = PageRequest.of(0, 20);
     private long INTERNSHIP_ID = 5;
 
 
@@ -79,20 +82,20 @@ class InternshipControllerTest {
 
     @Test
     void testGetInternshipByStatusSuccessful() {
-        internshipController.getInternshipByStatus(filter);
-        Mockito.verify(internshipService).getInternshipByStatus(filter);
+        internshipController.getInternshipByStatus(filter, pageable);
+        Mockito.verify(internshipService).getInternshipByStatus(filter, pageable);
     }
 
     @Test
     void testGetInternshipByRoleSuccessful() {
-        internshipController.getInternshipByRole(filter, teamRole);
-        Mockito.verify(internshipService).getInternshipByRole(filter, teamRole);
+        internshipController.getInternshipByRole(filter, teamRole, pageable);
+        Mockito.verify(internshipService).getInternshipByRole(filter, teamRole, pageable);
     }
 
     @Test
     void testGetAllInternshipSuccessful() {
-        internshipController.getAllInternship();
-        Mockito.verify(internshipService).getAllInternship();
+        internshipController.getAllInternship(pageable);
+        Mockito.verify(internshipService).getAllInternship(pageable);
     }
 
     @Test
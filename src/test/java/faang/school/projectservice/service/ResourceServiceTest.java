@@ -1,5 +1,9 @@
 package faang.school.projectservice.service;
 
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import faang.school.projectservice.dto.resource.ResourceUploadCompletionDto;
+import faang.school.projectservice.exceptions.ConflictException;
 import faang.school.projectservice.jpa.ResourceRepository;
 import faang.school.projectservice.mapper.resource.ResourceMapper;
 import faang.school.projectservice.model.*;
@@ -9,14 +13,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigInteger;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -34,6 +49,12 @@ public class ResourceServiceTest {
     private TeamMemberRepository teamMemberRepository;
     @Mock
     private ResourceMapper resourceMapper;
+    @Mock
+    private StorageQuotaService storageQuotaService;
+    @Mock
+    private StorageBlobService storageBlobService;
+    @Mock
+    private StorageOutboxService storageOutboxService;
 
     private final Project project = new Project();
     private final Resource resource = new Resource();
@@ -59,6 +80,9 @@ public class ResourceServiceTest {
 
         project.setStorageSize(BigInteger.valueOf(2049));
         when(projectService.getProjectById(projectId)).thenReturn(project);
+        when(teamMemberRepository.findById(userId)).thenReturn(new TeamMember());
+        doThrow(new IllegalArgumentException("Storage size exceeded. Buy a subscription to increase the size of storage"))
+                .when(storageQuotaService).reserve(projectId, file.getSize());
 
         IllegalArgumentException illegalArgumentException = assertThrows(IllegalArgumentException.class,
                 () -> resourceService.addResource(projectId, file, userId));
@@ -80,6 +104,53 @@ public class ResourceServiceTest {
         verify(resourceRepository, times(1)).save(any(Resource.class));
     }
 
+    @Test
+    void testDuplicateContentIsNotChargedTwice() {
+        MockMultipartFile file = prepareMultipartFile();
+        prepareProject();
+        Resource uploaded = Resource.builder().key("staging/1/uuid").contentHash("hash").build();
+        when(teamMemberRepository.findById(userId)).thenReturn(new TeamMember());
+        when(s3Service.uploadFile(any(MultipartFile.class), any(String.class))).thenReturn(uploaded);
+        when(storageBlobService.store("staging/1/uuid", "hash", file.getSize())).thenReturn("blobs/hash");
+        when(resourceRepository.existsByProjectIdAndContentHashAndStatus(projectId, "hash", ResourceStatus.ACTIVE))
+                .thenReturn(true);
+
+        resourceService.addResource(projectId, file, userId);
+
+        assertEquals("blobs/hash", uploaded.getKey());
+        verify(storageQuotaService).reserve(projectId, file.getSize());
+        verify(storageQuotaService).release(projectId, file.getSize());
+        verify(resourceRepository).save(uploaded);
+    }
+
+    @Test
+    void testDeleteSharedBlobKeepsQuota() {
+        prepareResourceForDeleting();
+        resource.setContentHash("hash");
+        when(resourceRepository.existsByProjectIdAndContentHashAndStatusAndIdNot(projectId, "hash", ResourceStatus.ACTIVE, resourceId))
+                .thenReturn(true);
+
+        resourceService.deleteResource(resourceId, userId);
+
+        verify(storageBlobService).release("hash");
+        verify(s3Service, never()).deleteFile(any());
+        verify(storageQuotaService, never()).release(anyLong(), anyLong());
+    }
+
+    @Test
+    void testFailedUploadReleasesReservedStorage() {
+        MockMultipartFile file = prepareMultipartFile();
+        prepareProject();
+        when(teamMemberRepository.findById(userId)).thenReturn(new TeamMember());
+        when(s3Service.uploadFile(any(MultipartFile.class), any(String.class))).thenThrow(new RuntimeException("File upload error"));
+
+        assertThrows(RuntimeException.class, () -> resourceService.addResource(projectId, file, userId));
+
+        verify(storageQuotaService).reserve(projectId, file.getSize());
+        verify(storageQuotaService).releaseQuietly(projectId, file.getSize());
+        verify(resourceRepository, never()).save(any(Resource.class));
+    }
+
     @Test
     void testResourceExistsIsInvalid() {
         prepareResource();
@@ -105,7 +176,8 @@ public class ResourceServiceTest {
         prepareResourceForDeleting();
 
         resourceService.deleteResource(resourceId, userId);
-        verify(s3Service, times(1)).deleteFile(any());
+        verify(storageOutboxService, times(1)).enqueueDelete(any());
+        verify(s3Service, never()).deleteFile(any());
     }
 
     @Test
@@ -116,6 +188,232 @@ public class ResourceServiceTest {
         assertEquals(resourceRepository.findById(resourceId).get().getStatus(), ResourceStatus.DELETED);
     }
 
+    @Test
+    void testDownloadWholeResource() throws IOException {
+        prepareResourceForDownload();
+        when(s3Service.downloadFile("resourceKey", 0, 9)).thenReturn(prepareS3Object("0123456789"));
+
+        ResponseEntity<StreamingResponseBody> response = resourceService.downloadResource(resourceId, new HttpHeaders());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(10, response.getHeaders().getContentLength());
+        assertEquals("\"etag\"", response.getHeaders().getETag());
+        assertEquals("0123456789", readBody(response));
+    }
+
+    @Test
+    void testDownloadRange() throws IOException {
+        prepareResourceForDownload();
+        when(s3Service.downloadFile("resourceKey", 2, 5)).thenReturn(prepareS3Object("2345"));
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-5");
+
+        ResponseEntity<StreamingResponseBody> response = resourceService.downloadResource(resourceId, requestHeaders);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals(4, response.getHeaders().getContentLength());
+        assertEquals("bytes 2-5/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals("2345", readBody(response));
+    }
+
+    @Test
+    void testDownloadRangeIgnoredWhenIfRangeDoesNotMatch() {
+        prepareResourceForDownload();
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-5");
+        requestHeaders.set(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        ResponseEntity<StreamingResponseBody> response = resourceService.downloadResource(resourceId, requestHeaders);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(10, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void testDownloadNotModifiedWhenETagMatches() {
+        prepareResourceForDownload();
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.IF_NONE_MATCH, "\"other\", W/\"etag\"");
+
+        ResponseEntity<StreamingResponseBody> response = resourceService.downloadResource(resourceId, requestHeaders);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"etag\"", response.getHeaders().getETag());
+        assertEquals(1_700_000_000_000L, response.getHeaders().getLastModified());
+        assertNull(response.getBody());
+        verify(s3Service, never()).downloadFile(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testDownloadNotModifiedSinceLastModified() {
+        prepareResourceForDownload();
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.setIfModifiedSince(1_700_000_000_000L);
+
+        ResponseEntity<StreamingResponseBody> response = resourceService.downloadResource(resourceId, requestHeaders);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(s3Service, never()).downloadFile(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testDownloadIfModifiedSinceIgnoredWhenIfNoneMatchPresent() {
+        prepareResourceForDownload();
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.IF_NONE_MATCH, "\"stale\"");
+        requestHeaders.setIfModifiedSince(1_700_000_000_000L);
+
+        ResponseEntity<StreamingResponseBody> response = resourceService.downloadResource(resourceId, requestHeaders);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void testDownloadRangeWithMatchingIfNoneMatchIsNotModified() {
+        prepareResourceForDownload();
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-5");
+        requestHeaders.set(HttpHeaders.IF_NONE_MATCH, "\"etag\"");
+
+        ResponseEntity<StreamingResponseBody> response = resourceService.downloadResource(resourceId, requestHeaders);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        verify(s3Service, never()).downloadFile(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testDownloadRangeWithStaleIfNoneMatchIsPartial() throws IOException {
+        prepareResourceForDownload();
+        when(s3Service.downloadFile("resourceKey", 2, 5)).thenReturn(prepareS3Object("2345"));
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-5");
+        requestHeaders.set(HttpHeaders.IF_NONE_MATCH, "\"stale\"");
+
+        ResponseEntity<StreamingResponseBody> response = resourceService.downloadResource(resourceId, requestHeaders);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("2345", readBody(response));
+    }
+
+    @Test
+    void testDownloadRangeNotSatisfiable() {
+        prepareResourceForDownload();
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=20-30");
+
+        ResponseEntity<StreamingResponseBody> response = resourceService.downloadResource(resourceId, requestHeaders);
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        verify(s3Service, never()).downloadFile(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testCompleteUploadRejectsKeyOfAnotherProject() {
+        prepareProject().setName("Sony");
+        when(teamMemberRepository.findById(userId)).thenReturn(new TeamMember());
+        ResourceUploadCompletionDto completion = new ResourceUploadCompletionDto("2Other/1video.mp4", "video.mp4");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> resourceService.completeUpload(projectId, completion, userId));
+
+        assertEquals("Resource key does not belong to the project", exception.getMessage());
+        verify(s3Service, never()).getFileMetadata(any());
+    }
+
+    @Test
+    void testCompleteUploadOverQuotaDeletesObject() {
+        prepareProject().setName("Sony");
+        when(teamMemberRepository.findById(userId)).thenReturn(new TeamMember());
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(2048);
+        when(s3Service.getFileMetadata("1Sony/1video.mp4")).thenReturn(metadata);
+        doThrow(new IllegalArgumentException("Storage size exceeded. Buy a subscription to increase the size of storage"))
+                .when(storageQuotaService).reserve(projectId, 2048);
+        ResourceUploadCompletionDto completion = new ResourceUploadCompletionDto("1Sony/1video.mp4", "video.mp4");
+
+        assertThrows(IllegalArgumentException.class, () -> resourceService.completeUpload(projectId, completion, userId));
+
+        verify(s3Service).deleteFile("1Sony/1video.mp4");
+        verify(resourceRepository, never()).save(any(Resource.class));
+    }
+
+    @Test
+    void testCompleteUploadRegistersResource() {
+        Project project = prepareProject();
+        project.setName("Sony");
+        when(teamMemberRepository.findById(userId)).thenReturn(new TeamMember());
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(100);
+        metadata.setContentType("video/mp4");
+        when(s3Service.getFileMetadata("1Sony/1video.mp4")).thenReturn(metadata);
+        when(resourceRepository.save(any(Resource.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ResourceUploadCompletionDto completion = new ResourceUploadCompletionDto("1Sony/1video.mp4", "video.mp4");
+
+        resourceService.completeUpload(projectId, completion, userId);
+
+        verify(storageQuotaService).reserve(projectId, 100);
+        verify(resourceRepository).save(argThat(saved -> saved.getType() == ResourceType.VIDEO
+                && saved.getSize().equals(BigInteger.valueOf(100))));
+    }
+
+    @Test
+    void testCompleteUploadOfRegisteredKeyConflicts() {
+        prepareProject().setName("Sony");
+        when(resourceRepository.existsByKey("1Sony/1video.mp4")).thenReturn(true);
+        ResourceUploadCompletionDto completion = new ResourceUploadCompletionDto("1Sony/1video.mp4", "video.mp4");
+
+        assertThrows(ConflictException.class, () -> resourceService.completeUpload(projectId, completion, userId));
+
+        verify(storageQuotaService, never()).reserve(anyLong(), anyLong());
+    }
+
+    @Test
+    void testCompleteUploadLosingConcurrentInsertRefundsAndConflicts() {
+        prepareProject().setName("Sony");
+        when(teamMemberRepository.findById(userId)).thenReturn(new TeamMember());
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(100);
+        metadata.setContentType("video/mp4");
+        when(s3Service.getFileMetadata("1Sony/1video.mp4")).thenReturn(metadata);
+        when(resourceRepository.existsByKey("1Sony/1video.mp4")).thenReturn(false, true);
+        when(resourceRepository.save(any(Resource.class))).thenThrow(new DataIntegrityViolationException("uq_resource_key"));
+        ResourceUploadCompletionDto completion = new ResourceUploadCompletionDto("1Sony/1video.mp4", "video.mp4");
+
+        assertThrows(ConflictException.class, () -> resourceService.completeUpload(projectId, completion, userId));
+
+        verify(storageQuotaService).reserve(projectId, 100);
+        verify(storageQuotaService).releaseQuietly(projectId, 100);
+        verify(s3Service, never()).deleteFile(any());
+    }
+
+    private void prepareResourceForDownload() {
+        ReflectionTestUtils.setField(resourceService, "downloadBufferSize", 4);
+        prepareResource();
+        resource.setName("video.mp4");
+        when(resourceRepository.findById(resourceId)).thenReturn(Optional.of(resource));
+
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(10);
+        metadata.setContentType("video/mp4");
+        metadata.setHeader("ETag", "etag");
+        metadata.setLastModified(new Date(1_700_000_000_000L));
+        when(s3Service.getFileMetadata("resourceKey")).thenReturn(metadata);
+    }
+
+    private S3Object prepareS3Object(String content) {
+        S3Object s3Object = new S3Object();
+        s3Object.setObjectContent(new ByteArrayInputStream(content.getBytes()));
+        return s3Object;
+    }
+
+    private String readBody(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return outputStream.toString();
+    }
+
     private MockMultipartFile prepareMultipartFile() {
         return new MockMultipartFile("file", "test.txt", "text/plain", "content".getBytes());
     }
@@ -137,6 +435,7 @@ public class ResourceServiceTest {
         resource.setSize(BigInteger.valueOf(100));
         resource.setProject(project);
 
+        project.setId(projectId);
         project.setStorageSize(BigInteger.valueOf(5));
         project.setMaxStorageSize(BigInteger.valueOf(10));
     }
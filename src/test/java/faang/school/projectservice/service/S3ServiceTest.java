@@ -1,23 +1,38 @@
 package faang.school.projectservice.service;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import faang.school.projectservice.model.Resource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class S3ServiceTest {
-    @InjectMocks
     private S3Service s3Service;
     @Mock
     private AmazonS3 s3client;
@@ -26,19 +41,44 @@ public class S3ServiceTest {
     @Mock
     private S3ObjectInputStream inputStream;
     String key;
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @BeforeEach
     void setUp() {
         key = "Key";
+        s3Service = new S3Service(s3client, executor, meterRegistry);
         ReflectionTestUtils.setField(s3Service, "bucketName", "bucketNameValue");
+        ReflectionTestUtils.setField(s3Service, "multipartThreshold", DataSize.ofMegabytes(6));
+        ReflectionTestUtils.setField(s3Service, "partSize", DataSize.ofMegabytes(5));
+        ReflectionTestUtils.setField(s3Service, "maxPartsInMemory", 2);
+        s3Service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
     }
 
     @Test
     void testUploadFile() {
         MockMultipartFile file = new MockMultipartFile("file", "test.txt", "text/plain", "content".getBytes());
 
-        s3Service.uploadFile(file, "folder");
+        when(s3client.putObject(any(PutObjectRequest.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, PutObjectRequest.class).getInputStream().readAllBytes();
+            return null;
+        });
+
+        Resource resource = s3Service.uploadFile(file, "folder");
         verify(s3client).putObject(any(PutObjectRequest.class));
+        assertTrue(resource.getKey().startsWith("staging/folder/"));
+        assertEquals("ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73", resource.getContentHash());
+    }
+
+    @Test
+    void testCopyFile() {
+        s3Service.copyFile("staging/key", "blobs/hash");
+        verify(s3client).copyObject("bucketNameValue", "staging/key", "bucketNameValue", "blobs/hash");
     }
 
     @Test
@@ -55,4 +95,50 @@ public class S3ServiceTest {
         s3Service.downloadFile(key);
         verify(s3client).getObject("bucketNameValue", key);
     }
+
+    @Test
+    void testLargeFileIsUploadedInParts() {
+        MockMultipartFile file = new MockMultipartFile("file", "video.mp4", "video/mp4",
+                new byte[(int) DataSize.ofMegabytes(11).toBytes()]);
+        when(s3client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class)))
+                .thenReturn(initiateResult());
+        when(s3client.uploadPart(any(UploadPartRequest.class)))
+                .thenAnswer(invocation -> partResult(invocation.getArgument(0, UploadPartRequest.class).getPartNumber()));
+
+        s3Service.uploadFile(file, "folder");
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> captor = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3client, times(3)).uploadPart(any(UploadPartRequest.class));
+        verify(s3client).completeMultipartUpload(captor.capture());
+        assertEquals(3, captor.getValue().getPartETags().size());
+        assertEquals(file.getSize(), meterRegistry.counter("s3.upload.bytes").count());
+        verify(s3client, never()).putObject(any(PutObjectRequest.class));
+    }
+
+    @Test
+    void testFailedPartAbortsMultipartUpload() {
+        MockMultipartFile file = new MockMultipartFile("file", "video.mp4", "video/mp4",
+                new byte[(int) DataSize.ofMegabytes(11).toBytes()]);
+        when(s3client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class)))
+                .thenReturn(initiateResult());
+        when(s3client.uploadPart(any(UploadPartRequest.class))).thenThrow(new IllegalStateException("S3 is down"));
+
+        assertThrows(RuntimeException.class, () -> s3Service.uploadFile(file, "folder"));
+
+        verify(s3client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    private InitiateMultipartUploadResult initiateResult() {
+        InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+        result.setUploadId("uploadId");
+        return result;
+    }
+
+    private UploadPartResult partResult(int partNumber) {
+        UploadPartResult result = new UploadPartResult();
+        result.setPartNumber(partNumber);
+        result.setETag("etag" + partNumber);
+        return result;
+    }
 }
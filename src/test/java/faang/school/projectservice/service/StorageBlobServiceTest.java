@@ -0,0 +1,78 @@
+package faang.school.projectservice.service;
+
+import faang.school.projectservice.jpa.StorageBlobRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StorageBlobServiceTest {
+    @InjectMocks
+    private StorageBlobService storageBlobService;
+    @Mock
+    private StorageBlobRepository storageBlobRepository;
+    @Mock
+    private S3Service s3Service;
+    @Mock
+    private StorageOutboxService storageOutboxService;
+
+    @Test
+    void testNewContentIsMovedToBlob() {
+        when(storageBlobRepository.acquire("hash", "blobs/hash", 10)).thenReturn(1);
+
+        String key = storageBlobService.store("staging/key", "hash", 10);
+
+        assertEquals("blobs/hash", key);
+        verify(s3Service).copyFile("staging/key", "blobs/hash");
+        verify(storageOutboxService).enqueueDelete("staging/key");
+    }
+
+    @Test
+    void testExistingContentIsReused() {
+        when(storageBlobRepository.acquire("hash", "blobs/hash", 10)).thenReturn(2);
+        when(s3Service.exists("blobs/hash")).thenReturn(true);
+
+        storageBlobService.store("staging/key", "hash", 10);
+
+        verify(s3Service, never()).copyFile(any(), any());
+        verify(storageOutboxService).enqueueDelete("staging/key");
+    }
+
+    @Test
+    void testFailedCopyReleasesReference() {
+        when(storageBlobRepository.acquire("hash", "blobs/hash", 10)).thenReturn(1);
+        doThrow(new RuntimeException("File upload error")).when(s3Service).copyFile("staging/key", "blobs/hash");
+
+        assertThrows(RuntimeException.class, () -> storageBlobService.store("staging/key", "hash", 10));
+
+        verify(storageBlobRepository).release("hash");
+        verify(storageOutboxService).enqueueDelete("staging/key");
+    }
+
+    @Test
+    void testSweepDeletesOnlyUnreferencedBlob() {
+        when(storageBlobRepository.deleteUnreferenced("hash", 3600)).thenReturn(Optional.of("blobs/hash"));
+        when(storageBlobRepository.deleteUnreferenced("used", 3600)).thenReturn(Optional.empty());
+
+        assertTrue(storageBlobService.sweep("hash", Duration.ofHours(1)));
+        assertFalse(storageBlobService.sweep("used", Duration.ofHours(1)));
+
+        verify(s3Service).deleteFile("blobs/hash");
+        verify(s3Service, never()).deleteFile("blobs/used");
+    }
+}
@@ -0,0 +1,94 @@
+package faang.school.projectservice.service;
+
+import faang.school.projectservice.jpa.ResourceRepository;
+import faang.school.projectservice.jpa.StorageOutboxRepository;
+import faang.school.projectservice.model.StorageOperation;
+import faang.school.projectservice.model.StorageOutboxEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StorageOutboxServiceTest {
+    @Mock
+    private StorageOutboxRepository storageOutboxRepository;
+    @Mock
+    private ResourceRepository resourceRepository;
+    @Mock
+    private S3Service s3Service;
+
+    private StorageOutboxService storageOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        storageOutboxService = new StorageOutboxService(storageOutboxRepository, resourceRepository, s3Service,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(storageOutboxService, "baseBackoff", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(storageOutboxService, "maxBackoff", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testDeletedObjectRemovesEntry() {
+        StorageOutboxEntry entry = deleteEntry("1Sony/video.mp4");
+        when(storageOutboxRepository.lockDue(10)).thenReturn(List.of(entry));
+
+        assertEquals(1, storageOutboxService.processBatch(10));
+
+        verify(s3Service).deleteFile("1Sony/video.mp4");
+        verify(storageOutboxRepository).delete(entry);
+    }
+
+    @Test
+    void testReferencedObjectIsKept() {
+        StorageOutboxEntry entry = deleteEntry("1Sony/video.mp4");
+        when(storageOutboxRepository.lockDue(10)).thenReturn(List.of(entry));
+        when(resourceRepository.existsByKey("1Sony/video.mp4")).thenReturn(true);
+
+        storageOutboxService.processBatch(10);
+
+        verify(s3Service, never()).deleteFile(any());
+        verify(storageOutboxRepository).delete(entry);
+    }
+
+    @Test
+    void testFailedOperationIsRescheduled() {
+        StorageOutboxEntry entry = deleteEntry("1Sony/video.mp4");
+        entry.setAttempts(1);
+        when(storageOutboxRepository.lockDue(10)).thenReturn(List.of(entry));
+        doThrow(new RuntimeException("S3 unavailable")).when(s3Service).deleteFile("1Sony/video.mp4");
+
+        storageOutboxService.processBatch(10);
+
+        verify(storageOutboxRepository, never()).delete(any());
+        verify(storageOutboxRepository).scheduleRetry(1L, 2, 20, "S3 unavailable");
+    }
+
+    @Test
+    void testBackoffIsCapped() {
+        assertEquals(Duration.ofSeconds(10), storageOutboxService.backoff(1));
+        assertEquals(Duration.ofSeconds(40), storageOutboxService.backoff(3));
+        assertEquals(Duration.ofMinutes(1), storageOutboxService.backoff(10));
+    }
+
+    private StorageOutboxEntry deleteEntry(String key) {
+        return StorageOutboxEntry.builder()
+                .id(1L)
+                .operation(StorageOperation.DELETE_OBJECT)
+                .key(key)
+                .build();
+    }
+}
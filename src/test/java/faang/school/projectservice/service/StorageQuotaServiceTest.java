@@ -0,0 +1,62 @@
+package faang.school.projectservice.service;
+
+import faang.school.projectservice.jpa.ProjectJpaRepository;
+import faang.school.projectservice.service.project.ProjectCacheEvictor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StorageQuotaServiceTest {
+    @Mock
+    private ProjectJpaRepository projectJpaRepository;
+    @Mock
+    private ProjectCacheEvictor projectCacheEvictor;
+
+    @InjectMocks
+    private StorageQuotaService storageQuotaService;
+
+    @Test
+    void testReserveEvictsOnlyTheProject() {
+        when(projectJpaRepository.reserveStorage(1L, 100L)).thenReturn(List.of(1L));
+
+        storageQuotaService.reserve(1L, 100L);
+
+        verify(projectCacheEvictor).evictAfterCommit(List.of(1L));
+    }
+
+    @Test
+    void testReserveOverQuotaThrows() {
+        when(projectJpaRepository.reserveStorage(1L, 100L)).thenReturn(List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> storageQuotaService.reserve(1L, 100L));
+        verify(projectCacheEvictor, never()).evictAfterCommit(anyList());
+    }
+
+    @Test
+    void testReleaseEvictsOnlyTheProject() {
+        when(projectJpaRepository.releaseStorage(1L, 100L)).thenReturn(List.of(1L));
+
+        storageQuotaService.release(1L, 100L);
+
+        verify(projectCacheEvictor).evictAfterCommit(List.of(1L));
+    }
+
+    @Test
+    void testReleaseOfNothingSkipsTheUpdate() {
+        storageQuotaService.release(1L, 0L);
+
+        verifyNoInteractions(projectJpaRepository, projectCacheEvictor);
+    }
+}
@@ -0,0 +1,191 @@
+package faang.school.projectservice.service;
+
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import faang.school.projectservice.jpa.JobCheckpointRepository;
+import faang.school.projectservice.jpa.ResourceRepository;
+import faang.school.projectservice.jpa.StorageBlobRepository;
+import faang.school.projectservice.service.resource.CoverImageProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StorageReconcilerTest {
+    private static final String JOB = StorageReconciler.JOB_NAME;
+
+    @Mock
+    private S3Service s3Service;
+    @Mock
+    private ResourceRepository resourceRepository;
+    @Mock
+    private StorageBlobRepository storageBlobRepository;
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+    @Mock
+    private CoverImageProcessor coverImageProcessor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StorageReconciler storageReconciler;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(coverImageProcessor.isRendition(anyString()))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0).startsWith("covering-images/renditions/"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (storageReconciler != null) {
+            storageReconciler.shutdown();
+        }
+    }
+
+    @Test
+    void testOrphansAreDeletedAndBytesReclaimed() {
+        storageReconciler = createReconciler(true);
+        prepareBucketAndDatabase();
+        when(s3Service.deleteFiles(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        storageReconciler.reconcileFrom(null);
+
+        ArgumentCaptor<List<String>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(s3Service, times(2)).deleteFiles(deleted.capture());
+        assertEquals(List.of(List.of("1Sony/b.mp4"), List.of("covering-images/renditions/X/64.png")),
+                deleted.getAllValues());
+        assertEquals(30, meterRegistry.counter("storage_reconciler.bytes.reclaimed").count());
+        verify(jobCheckpointRepository).savePosition(JOB, "blobs/h1", 3600);
+        verify(jobCheckpointRepository).savePosition(JOB, null, 3600);
+    }
+
+    @Test
+    void testOrphansAreOnlyReportedByDefault() {
+        storageReconciler = createReconciler(false);
+        prepareBucketAndDatabase();
+
+        storageReconciler.reconcileFrom(null);
+
+        verify(s3Service, never()).deleteFiles(any());
+        assertEquals(2, meterRegistry.counter("storage_reconciler.orphans", "action", "reported").count());
+        assertEquals(30, meterRegistry.counter("storage_reconciler.orphans.bytes").count());
+    }
+
+    @Test
+    void testResumesFromCheckpoint() {
+        storageReconciler = createReconciler(false);
+        when(jobCheckpointRepository.acquireLease(JOB, 3600)).thenReturn(Collections.singletonList("blobs/h1"));
+        when(s3Service.listFiles("blobs/h1", null, 1000)).thenReturn(page(false, null));
+
+        storageReconciler.reconcile();
+
+        verify(resourceRepository, never()).findKeysAfter(anyString(), anyInt());
+        verify(jobCheckpointRepository).savePosition(JOB, null, 3600);
+        verify(jobCheckpointRepository).releaseLease(JOB);
+    }
+
+    @Test
+    void testSkipsWhenLeaseIsHeldElsewhere() {
+        storageReconciler = createReconciler(true);
+        when(jobCheckpointRepository.acquireLease(JOB, 3600)).thenReturn(List.of());
+
+        storageReconciler.reconcile();
+
+        verify(s3Service, never()).listFiles(any(), any(), anyInt());
+        verify(jobCheckpointRepository, never()).savePosition(anyString(), any(), anyLong());
+    }
+
+    @Test
+    void testScheduledRunLeavesTheSchedulerThreadAndSkipsWhileRunning() throws Exception {
+        storageReconciler = createReconciler(false);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> runThread = new AtomicReference<>();
+        when(jobCheckpointRepository.acquireLease(JOB, 3600)).thenAnswer(invocation -> {
+            runThread.set(Thread.currentThread().getName());
+            started.countDown();
+            release.await();
+            return List.of();
+        });
+
+        storageReconciler.scheduleReconcile();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        storageReconciler.scheduleReconcile();
+        release.countDown();
+
+        assertEquals("storage-reconciler", runThread.get());
+        verify(jobCheckpointRepository, timeout(5000)).acquireLease(JOB, 3600);
+        verify(jobCheckpointRepository, times(1)).acquireLease(JOB, 3600);
+    }
+
+    @Test
+    void testKeysAreComparedInByteOrder() {
+        assertTrue(StorageReconciler.compareKeys("a\uFFFD", "a\uD83D\uDE00") < 0);
+        assertTrue(StorageReconciler.compareKeys("blobs/", "blobs/a") < 0);
+    }
+
+    private void prepareBucketAndDatabase() {
+        when(s3Service.listFiles(null, null, 1000)).thenReturn(page(true, "next",
+                object("1Sony/a.mp4", 100, true),
+                object("1Sony/b.mp4", 10, true),
+                object("blobs/h1", 100, true)));
+        when(s3Service.listFiles(null, "next", 1000)).thenReturn(page(false, null,
+                object("covering-images/renditions/H/1080.png", 100, true),
+                object("covering-images/renditions/H/64.png", 5, true),
+                object("covering-images/renditions/X/64.png", 20, true),
+                object("staging/1Sony/new", 50, false)));
+        when(resourceRepository.findKeysAfter("", 1000))
+                .thenReturn(List.of("1Sony/a.mp4", "covering-images/renditions/H/1080.png"));
+        when(storageBlobRepository.findKeysAfter("", 1000)).thenReturn(List.of("blobs/h1"));
+    }
+
+    private StorageReconciler createReconciler(boolean deleteOrphans) {
+        return new StorageReconciler(s3Service, resourceRepository, storageBlobRepository, jobCheckpointRepository,
+                coverImageProcessor, meterRegistry, deleteOrphans, Duration.ofHours(24), 1000, 100, 1000,
+                Duration.ofHours(1));
+    }
+
+    private ListObjectsV2Result page(boolean truncated, String nextToken, S3ObjectSummary... objects) {
+        ListObjectsV2Result result = new ListObjectsV2Result();
+        result.setTruncated(truncated);
+        result.setNextContinuationToken(nextToken);
+        result.getObjectSummaries().addAll(List.of(objects));
+        return result;
+    }
+
+    private S3ObjectSummary object(String key, long size, boolean old) {
+        S3ObjectSummary summary = new S3ObjectSummary();
+        summary.setKey(key);
+        summary.setSize(size);
+        Instant lastModified = old ? Instant.now().minus(Duration.ofDays(2)) : Instant.now();
+        summary.setLastModified(Date.from(lastModified));
+        return summary;
+    }
+}
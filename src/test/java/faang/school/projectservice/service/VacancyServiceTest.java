@@ -1,6 +1,7 @@
 package faang.school.projectservice.service;
 
 import faang.school.projectservice.dto.client.VacancyDto;
+import faang.school.projectservice.dto.client.VacancySearchDto;
 import faang.school.projectservice.exception.DataValidationException;
 import faang.school.projectservice.mapper.VacancyMapper;
 import faang.school.projectservice.model.Candidate;
@@ -8,6 +9,7 @@ import faang.school.projectservice.model.Project;
 import faang.school.projectservice.model.TeamMember;
 import faang.school.projectservice.model.Vacancy;
 import faang.school.projectservice.model.VacancyStatus;
+import faang.school.projectservice.model.WorkSchedule;
 import faang.school.projectservice.repository.ProjectRepository;
 import faang.school.projectservice.repository.TeamMemberRepository;
 import faang.school.projectservice.repository.VacancyRepository;
@@ -18,6 +20,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,8 +33,12 @@ import static faang.school.projectservice.model.VacancyStatus.CLOSED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -112,21 +121,69 @@ class VacancyServiceTest {
     }
 
     @Test
-    void testGetVacancyWithAllFiltersSuccessful() {
-        String nameTrue = "Java";
-        String positionTrue = "Junior";
-        String nameFalse = "Kotlin";
-        String positionFalse = "Midl";
-        Vacancy vacancy1 = getVacancy(1L, nameTrue, positionTrue, 11l);
-        Vacancy vacancy2 = getVacancy(2L, nameFalse, positionTrue, 12l);
-        Vacancy vacancy3 = getVacancy(3L, nameTrue, positionFalse, 13l);
-        Vacancy vacancy4 = getVacancy(4L, nameFalse, positionFalse, 14l);
-        List<Vacancy> list = List.of(vacancy1, vacancy2, vacancy3, vacancy4);
-        when(vacancyRepository.findAll()).thenReturn(list);
-        List<VacancyDto> vacancyDto = vacancyService.getVacanciesWithFilters(nameTrue, positionTrue);
+    void testGetVacanciesWithFiltersRestrictsWordsToTheirColumns() {
+        Vacancy vacancy = getVacancy(1L, "Java developer", "Junior", 11L);
+        Pageable pageable = PageRequest.of(1, 20);
+        when(vacancyRepository.search("java:*A & junior:*B", null, null, null, null, 20, 20L))
+                .thenReturn(List.of(vacancy));
+
+        List<VacancyDto> vacancyDto = vacancyService.getVacanciesWithFilters("Java", "Junior", pageable);
 
         assertEquals(1, vacancyDto.size());
-        assertEquals(vacancy1.getId(), list.get(0).getId());
+        assertEquals(vacancy.getId(), vacancyDto.get(0).getId());
+    }
+
+    @Test
+    void testGetVacanciesWithFiltersByNameOnly() {
+        vacancyService.getVacanciesWithFilters("Senior Java", null, PageRequest.of(0, 10));
+
+        verify(vacancyRepository).search("senior:*A & java:*A", null, null, null, null, 10, 0L);
+    }
+
+    @Test
+    void testGetVacanciesWithFiltersRejectsSort() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("salary"));
+
+        assertThrows(DataValidationException.class,
+                () -> vacancyService.getVacanciesWithFilters("Java", null, pageable));
+        verifyNoInteractions(vacancyRepository);
+    }
+
+    @Test
+    void testSearchVacanciesRejectsSort() {
+        VacancySearchDto filter = VacancySearchDto.builder().query("java").build();
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+
+        assertThrows(DataValidationException.class, () -> vacancyService.searchVacancies(filter, pageable));
+        verifyNoInteractions(vacancyRepository);
+    }
+
+    @Test
+    void testSearchVacanciesPassesFilters() {
+        VacancySearchDto filter = VacancySearchDto.builder()
+                .query("  Kotlin, back-end! ")
+                .status(VacancyStatus.OPEN)
+                .workSchedule(WorkSchedule.REMOTE)
+                .minSalary(1000.0)
+                .maxSalary(5000.0)
+                .build();
+
+        vacancyService.searchVacancies(filter, PageRequest.of(0, 10));
+
+        verify(vacancyRepository).search("kotlin:* & back:* & end:*", "OPEN", "REMOTE", 1000.0, 5000.0, 10, 0L);
+    }
+
+    @Test
+    void testSearchVacanciesWithoutQueryUsesFiltersOnly() {
+        VacancySearchDto filter = VacancySearchDto.builder()
+                .query(" & ")
+                .status(VacancyStatus.OPEN)
+                .build();
+
+        vacancyService.searchVacancies(filter, PageRequest.of(0, 10));
+
+        verify(vacancyRepository).findAllByFilters("OPEN", null, null, null, 10, 0L);
+        verify(vacancyRepository, never()).search(any(), any(), any(), any(), any(), anyInt(), anyLong());
     }
 
     @Test
@@ -0,0 +1,76 @@
+package faang.school.projectservice.service.internship;
+
+import faang.school.projectservice.jpa.JobCheckpointRepository;
+import faang.school.projectservice.repository.InternshipRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InternshipCompletionJobTest {
+    private static final String JOB = InternshipCompletionJob.JOB_NAME;
+
+    @Mock
+    private InternshipRepository internshipRepository;
+    @Mock
+    private InternshipCompletionService internshipCompletionService;
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InternshipCompletionJob internshipCompletionJob;
+
+    @BeforeEach
+    void setUp() {
+        internshipCompletionJob = new InternshipCompletionJob(internshipRepository, internshipCompletionService,
+                jobCheckpointRepository, meterRegistry, 2, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void testCompletesInChunksAndCheckpoints() {
+        when(jobCheckpointRepository.acquireLease(JOB, 1800)).thenReturn(Collections.singletonList("4"));
+        when(internshipRepository.findExpiredInProgressIds(4, 2)).thenReturn(List.of(5L, 6L));
+        when(internshipRepository.findExpiredInProgressIds(6, 2)).thenReturn(List.of(9L));
+        when(internshipCompletionService.complete(any()))
+                .thenReturn(new InternshipCompletionService.Result(2, 3, 1))
+                .thenReturn(new InternshipCompletionService.Result(1, 1, 0));
+
+        internshipCompletionJob.completeExpiredInternships();
+
+        InOrder order = inOrder(internshipCompletionService, jobCheckpointRepository);
+        order.verify(internshipCompletionService).complete(List.of(5L, 6L));
+        order.verify(jobCheckpointRepository).savePosition(JOB, "6", 1800);
+        order.verify(internshipCompletionService).complete(List.of(9L));
+        order.verify(jobCheckpointRepository).savePosition(JOB, "9", 1800);
+        order.verify(jobCheckpointRepository).savePosition(JOB, null, 1800);
+        order.verify(jobCheckpointRepository).releaseLease(JOB);
+        assertEquals(3, meterRegistry.counter("internship.completion.internships").count());
+        assertEquals(4, meterRegistry.counter("internship.completion.interns", "outcome", "promoted").count());
+    }
+
+    @Test
+    void testSkipsWhenLeaseIsHeldElsewhere() {
+        when(jobCheckpointRepository.acquireLease(JOB, 1800)).thenReturn(List.of());
+
+        internshipCompletionJob.completeExpiredInternships();
+
+        verify(internshipRepository, never()).findExpiredInProgressIds(anyLong(), anyInt());
+    }
+}
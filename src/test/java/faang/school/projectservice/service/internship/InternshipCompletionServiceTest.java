@@ -0,0 +1,70 @@
+package faang.school.projectservice.service.internship;
+
+import faang.school.projectservice.dto.internship.InternOutcome;
+import faang.school.projectservice.repository.InternshipRepository;
+import faang.school.projectservice.repository.TeamMemberRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static faang.school.projectservice.model.TeamRole.DEVELOPER;
+import static faang.school.projectservice.model.TeamRole.INTERN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InternshipCompletionServiceTest {
+    @InjectMocks
+    private InternshipCompletionService internshipCompletionService;
+    @Mock
+    private InternshipRepository internshipRepository;
+    @Mock
+    private TeamMemberRepository teamMemberRepository;
+
+    @Test
+    void testInternsArePromotedOrRemovedByOpenTasks() {
+        List<Long> internshipIds = List.of(1L, 2L);
+        when(internshipRepository.findInternOutcomes(internshipIds))
+                .thenReturn(List.of(outcome(10L, 0), outcome(11L, 3), outcome(12L, 0)));
+        when(internshipRepository.markCompleted(internshipIds)).thenReturn(2);
+
+        InternshipCompletionService.Result result = internshipCompletionService.complete(internshipIds);
+
+        assertEquals(new InternshipCompletionService.Result(2, 2, 1), result);
+        verify(internshipRepository).removeInterns(internshipIds, List.of(11L));
+        verify(teamMemberRepository).removeRole(List.of(10L, 12L), INTERN);
+        verify(teamMemberRepository).addRole(List.of(10L, 12L), DEVELOPER);
+    }
+
+    @Test
+    void testNothingIsRemovedWhenAllInternsPassed() {
+        List<Long> internshipIds = List.of(1L);
+        when(internshipRepository.findInternOutcomes(internshipIds)).thenReturn(List.of(outcome(10L, 0)));
+
+        internshipCompletionService.complete(internshipIds);
+
+        verify(internshipRepository, never()).removeInterns(any(), any());
+        verify(internshipRepository).markCompleted(internshipIds);
+    }
+
+    private InternOutcome outcome(long teamMemberId, long openTasks) {
+        return new InternOutcome() {
+            @Override
+            public Long getTeamMemberId() {
+                return teamMemberId;
+            }
+
+            @Override
+            public Long getOpenTasks() {
+                return openTasks;
+            }
+        };
+    }
+}
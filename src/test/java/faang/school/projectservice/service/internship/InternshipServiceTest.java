@@ -1,5 +1,6 @@
 package faang.school.projectservice.service.internship;
 
+import faang.school.projectservice.dto.internship.InternshipConflict;
 import faang.school.projectservice.dto.internship.InternshipDto;
 import faang.school.projectservice.dto.internship.InternshipFilterDto;
 import faang.school.projectservice.dto.teammember.TeamMemberDto;
@@ -19,19 +20,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static faang.school.projectservice.model.InternshipStatus.COMPLETED;
 import static faang.school.projectservice.model.InternshipStatus.IN_PROGRESS;
 import static faang.school.projectservice.model.TeamRole.DEVELOPER;
 import static faang.school.projectservice.model.TeamRole.INTERN;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +53,8 @@ class InternshipServiceTest {
     private TeamMemberRepository teamMemberRepository;
     @Mock
     private InternshipValidator internshipValidator;
+    @Mock
+    private InternshipCompletionService internshipCompletionService;
     @Spy
     private InternshipMapper internshipMapper = Mappers.getMapper(InternshipMapper.class);
     @Spy
@@ -80,11 +91,45 @@ class InternshipServiceTest {
     @Test
     void testCreateInternshipSuccessful() {
         when(teamMemberRepository.existsById(anyLong())).thenReturn(true);
-        when(teamMemberRepository.findById(anyLong())).thenReturn(teamMember);
+        List<TeamMember> interns = List.of(TeamMember.builder().id(8L).build(), TeamMember.builder().id(9L).build(),
+                TeamMember.builder().id(10L).build());
+        when(teamMemberRepository.findAllByIds(internshipDto.getInternsId())).thenReturn(interns);
         internshipService.createInternship(internshipDto);
         internshipCaptor = ArgumentCaptor.forClass(Internship.class);
         verify(internshipRepository).save(internshipCaptor.capture());
         assertEquals(internshipDto.getId(), internshipCaptor.getValue().getId());
+        assertEquals(interns, internshipCaptor.getValue().getInterns());
+        verify(teamMemberRepository).addRole(internshipDto.getInternsId(), INTERN);
+        verify(teamMemberRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testCreateInternshipWithUnknownIntern() {
+        when(teamMemberRepository.existsById(anyLong())).thenReturn(true);
+        when(teamMemberRepository.findAllByIds(internshipDto.getInternsId()))
+                .thenThrow(new jakarta.persistence.EntityNotFoundException("Team members don't exist by ids: [10]"));
+        assertThrows(jakarta.persistence.EntityNotFoundException.class,
+                () -> internshipService.createInternship(internshipDto));
+        verify(teamMemberRepository, never()).addRole(any(), any());
+        verify(internshipRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateInternshipWithOverlappingInternship() {
+        when(teamMemberRepository.existsById(anyLong())).thenReturn(true);
+        InternshipConflict conflict = mock(InternshipConflict.class);
+        when(conflict.getInternshipId()).thenReturn(77L);
+        when(conflict.getTeamMemberId()).thenReturn(9L);
+        when(internshipRepository.findConflicts(Set.of(5L, 8L, 9L, 10L), internshipDto.getStartDate(),
+                internshipDto.getEndDate(), 0L)).thenReturn(List.of(conflict));
+
+        DataValidationException exception = assertThrows(DataValidationException.class,
+                () -> internshipService.createInternship(internshipDto));
+
+        assertEquals("Internship dates overlap with existing internships: team member 9 in internship 77",
+                exception.getMessage());
+        verify(teamMemberRepository, never()).addRole(any(), any());
+        verify(internshipRepository, never()).save(any());
     }
 
     @Test
@@ -151,9 +196,10 @@ class InternshipServiceTest {
         Internship internship = internshipMapper.toEntity(internshipDto);
         internship.setInterns(new ArrayList<>(List.of(TeamMember.builder().id(8L).build())));
         when(internshipRepository.findById(123L)).thenReturn(Optional.of(internship));
-        when(teamMemberRepository.findById(anyLong())).thenReturn(teamMember);
+        when(teamMemberRepository.findAllByIds(List.of(1L))).thenReturn(List.of(teamMember));
         InternshipDto updatedInternshipDto = internshipService.addNewIntern(internshipDto.getId(), 1L);
         assertEquals(2, updatedInternshipDto.getInternsId().size());
+        verify(teamMemberRepository).addRole(List.of(1L), INTERN);
     }
 
     @Test
@@ -186,6 +232,15 @@ class InternshipServiceTest {
         assertEquals(updatedInternshipDto.getStartDate(), internshipDto.getStartDate());
     }*/
 
+    @Test
+    void testUpdateInternshipAfterEndDateCompletesInBulk() {
+        Internship internship = internshipMapper.toEntity(internshipDto);
+        internship.setEndDate(LocalDateTime.now().minusDays(1));
+        when(internshipRepository.findById(123L)).thenReturn(Optional.of(internship));
+        internshipService.updateInternshipAfterEndDate(123L);
+        verify(internshipCompletionService).complete(List.of(123L));
+    }
+
     @Test
     void testUpdateInternshipAfterEndDate_InternshipNotFound() {
         when(internshipRepository.findById(anyLong())).thenReturn(Optional.empty());
@@ -199,20 +254,29 @@ class InternshipServiceTest {
         internshipDto.setInternsId(new ArrayList<>());
         Internship internship = internshipMapper.toEntity(internshipDto);
         internship.setStatus(IN_PROGRESS);
-        Internship internship1 = new Internship();
-        internship1.setStatus(COMPLETED);
-        Internship internship2 = new Internship();
-        internship2.setStatus(COMPLETED);
 
         InternshipFilterDto internshipFilterDto = new InternshipFilterDto();
         internshipFilterDto.setStatus(IN_PROGRESS);
+        Pageable pageable = PageRequest.of(0, 20);
 
         internshipService = new InternshipServiceImpl(internshipRepository, internshipMapper, teamMemberRepository,
-                teamMemberMapper, Arrays.asList(new InternshipStatusFilter()), internshipValidator);
+                teamMemberMapper, Arrays.asList(new InternshipStatusFilter()), internshipValidator,
+                internshipCompletionService);
 
-        when(internshipRepository.findAll()).thenReturn(Arrays.asList(internship, internship1, internship2));
-        List<InternshipDto> actualList = internshipService.getInternshipByStatus(internshipFilterDto);
+        when(internshipRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(internship)));
+        List<InternshipDto> actualList = internshipService.getInternshipByStatus(internshipFilterDto, pageable);
 
         assertEquals(Arrays.asList(internshipDto), actualList);
+        verify(internshipRepository).findWithInternsByIdIn(List.of(internship.getId()));
+    }
+
+    @Test
+    void testGetAllInternshipEmptyPage() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(internshipRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(Page.empty());
+
+        assertTrue(internshipService.getAllInternship(pageable).isEmpty());
+        verify(internshipRepository, never()).findWithInternsByIdIn(any());
     }
-}
\ No newline at end of file
+}
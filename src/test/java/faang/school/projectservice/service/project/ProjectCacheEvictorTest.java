@@ -0,0 +1,75 @@
+package faang.school.projectservice.service.project;
+
+import faang.school.projectservice.model.Project;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectCacheEvictorTest {
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private ProjectCacheEvictor projectCacheEvictor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        lenient().when(entityManagerFactory.getCache()).thenReturn(cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEvictAfterCommitWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        projectCacheEvictor.evictAfterCommit(List.of(2L, 3L));
+
+        verify(cache, never()).evict(any(), any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cache).evict(Project.class, 2L);
+        verify(cache).evict(Project.class, 3L);
+    }
+
+    @Test
+    void testEvictAfterCommitWithoutTransactionEvictsImmediately() {
+        projectCacheEvictor.evictAfterCommit(2L);
+
+        verify(cache).evict(Project.class, 2L);
+    }
+
+    @Test
+    void testEvictAfterCommitIgnoresEmptyIds() {
+        projectCacheEvictor.evictAfterCommit(List.of());
+
+        verifyNoInteractions(entityManager);
+    }
+}
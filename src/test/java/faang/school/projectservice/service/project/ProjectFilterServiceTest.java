@@ -0,0 +1,105 @@
+package faang.school.projectservice.service.project;
+
+import faang.school.projectservice.dto.project.ProjectFilterDto;
+import faang.school.projectservice.filter.project.ProjectFilter;
+import faang.school.projectservice.filter.project.ProjectStatusFilter;
+import faang.school.projectservice.jpa.ProjectJpaRepository;
+import faang.school.projectservice.model.Project;
+import faang.school.projectservice.model.ProjectStatus;
+import faang.school.projectservice.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectFilterServiceTest {
+    @Mock
+    private ProjectJpaRepository projectJpaRepository;
+    @Mock
+    private ProjectMembershipResolver projectMembershipResolver;
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private final Pageable pageable = PageRequest.of(0, 2, Sort.by("id"));
+    private ProjectFilterDto filterDto;
+
+    @BeforeEach
+    void init() {
+        filterDto = ProjectFilterDto.builder()
+                .name("Sony")
+                .status(ProjectStatus.IN_PROGRESS)
+                .build();
+        when(projectMembershipResolver.getMemberProjectIds()).thenReturn(Set.of(1L));
+    }
+
+    @Test
+    void testTranslatableFiltersAreExecutedInDatabase() {
+        ProjectFilterService projectFilterService = new ProjectFilterService(
+                List.of(new ProjectStatusFilter()), projectMembershipResolver, projectJpaRepository, projectRepository);
+        Page<Project> page = new PageImpl<>(List.of(new Project()), pageable, 1);
+        when(projectJpaRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
+
+        Page<Project> result = projectFilterService.findAll(filterDto, pageable);
+
+        assertEquals(page, result);
+        verify(projectJpaRepository, never()).findAll(any(Specification.class), any(Sort.class));
+    }
+
+    @Test
+    void testUntranslatableFilterFallsBackToInMemoryPaging() {
+        ProjectFilter inMemoryFilter = new ProjectFilter() {
+            @Override
+            public boolean isApplicable(ProjectFilterDto projectFilterDto) {
+                return true;
+            }
+
+            @Override
+            public Stream<Project> apply(Stream<Project> projects, ProjectFilterDto projectFilterDto) {
+                return projects.filter(project -> project.getId() % 2 == 1);
+            }
+        };
+        ProjectFilterService projectFilterService = new ProjectFilterService(
+                List.of(new ProjectStatusFilter(), inMemoryFilter), projectMembershipResolver, projectJpaRepository, projectRepository);
+        List<Project> projects = Stream.of(1L, 2L, 3L, 4L, 5L)
+                .map(id -> Project.builder().id(id).build())
+                .toList();
+        when(projectJpaRepository.findAll(any(Specification.class), eq(pageable.getSort()))).thenReturn(projects);
+
+        Page<Project> result = projectFilterService.findAll(filterDto, pageable);
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(List.of(1L, 3L), result.getContent().stream().map(Project::getId).toList());
+    }
+
+    @Test
+    void testKeysetPageIsLimitedInDatabase() {
+        ProjectFilterService projectFilterService = new ProjectFilterService(
+                List.of(new ProjectStatusFilter()), projectMembershipResolver, projectJpaRepository, projectRepository);
+        List<Project> projects = List.of(Project.builder().id(6L).build());
+        when(projectRepository.findAllAfterId(any(Specification.class), eq(5L), eq(3))).thenReturn(projects);
+
+        List<Project> result = projectFilterService.findAllAfterId(filterDto, 5L, 3);
+
+        assertEquals(projects, result);
+        verify(projectJpaRepository, never()).findAll(any(Specification.class), any(Sort.class));
+    }
+}
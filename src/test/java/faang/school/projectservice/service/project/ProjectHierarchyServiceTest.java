@@ -0,0 +1,47 @@
+package faang.school.projectservice.service.project;
+
+import faang.school.projectservice.jpa.ProjectJpaRepository;
+import faang.school.projectservice.model.ProjectStatus;
+import faang.school.projectservice.model.ProjectVisibility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectHierarchyServiceTest {
+    @Mock
+    private ProjectJpaRepository projectJpaRepository;
+    @Mock
+    private ProjectCacheEvictor projectCacheEvictor;
+
+    @InjectMocks
+    private ProjectHierarchyService projectHierarchyService;
+
+    @Test
+    void testPropagateVisibilityEvictsUpdatedIds() {
+        when(projectJpaRepository.updateDescendantsVisibility(1L, ProjectVisibility.PRIVATE)).thenReturn(List.of(2L, 3L));
+
+        List<Long> updatedIds = projectHierarchyService.propagateVisibility(1L, ProjectVisibility.PRIVATE);
+
+        assertEquals(List.of(2L, 3L), updatedIds);
+        verify(projectCacheEvictor).evictAfterCommit(List.of(2L, 3L));
+    }
+
+    @Test
+    void testPropagateStatusEvictsUpdatedIds() {
+        when(projectJpaRepository.updateDescendantsStatus(1L, ProjectStatus.CANCELLED)).thenReturn(List.of(4L));
+
+        List<Long> updatedIds = projectHierarchyService.propagateStatus(1L, ProjectStatus.CANCELLED);
+
+        assertEquals(List.of(4L), updatedIds);
+        verify(projectCacheEvictor).evictAfterCommit(List.of(4L));
+    }
+}
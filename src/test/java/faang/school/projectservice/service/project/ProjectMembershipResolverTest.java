@@ -0,0 +1,69 @@
+package faang.school.projectservice.service.project;
+
+import faang.school.projectservice.config.context.UserContext;
+import faang.school.projectservice.jpa.TeamMemberJpaRepository;
+import faang.school.projectservice.model.Project;
+import faang.school.projectservice.model.ProjectVisibility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectMembershipResolverTest {
+    @Mock
+    private TeamMemberJpaRepository teamMemberJpaRepository;
+    @Mock
+    private UserContext userContext;
+    @InjectMocks
+    private ProjectMembershipResolver projectMembershipResolver;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testMembershipIsLoadedOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userContext.getUserId()).thenReturn(1L);
+        when(teamMemberJpaRepository.findProjectIdsByUserId(1L)).thenReturn(Set.of(10L));
+
+        assertTrue(projectMembershipResolver.isVisible(privateProject(10L)));
+        assertFalse(projectMembershipResolver.isVisible(privateProject(11L)));
+
+        verify(teamMemberJpaRepository, times(1)).findProjectIdsByUserId(1L);
+    }
+
+    @Test
+    void testPublicProjectIsVisibleWithoutLoadingMembership() {
+        Project project = Project.builder()
+                .id(1L)
+                .visibility(ProjectVisibility.PUBLIC)
+                .build();
+
+        assertTrue(projectMembershipResolver.isVisible(project));
+
+        verify(teamMemberJpaRepository, times(0)).findProjectIdsByUserId(1L);
+    }
+
+    private Project privateProject(long id) {
+        return Project.builder()
+                .id(id)
+                .visibility(ProjectVisibility.PRIVATE)
+                .build();
+    }
+}
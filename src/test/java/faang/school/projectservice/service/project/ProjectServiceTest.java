@@ -1,13 +1,19 @@
 package faang.school.projectservice.service.project;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import faang.school.projectservice.dto.project.CreateSubProjectDto;
+import faang.school.projectservice.dto.project.ProjectChildLink;
 import faang.school.projectservice.dto.project.ProjectDto;
+import faang.school.projectservice.dto.project.ProjectExportRow;
 import faang.school.projectservice.dto.project.ProjectFilterDto;
+import faang.school.projectservice.dto.project.ProjectPageDto;
+import faang.school.projectservice.dto.project.ProjectTreeNode;
 import faang.school.projectservice.dto.project.UpdateSubProjectDto;
 
 import faang.school.projectservice.exeptions.DataValidationException;
 import faang.school.projectservice.filter.project.ProjectFilter;
 import faang.school.projectservice.filter.project.ProjectStatusFilter;
+import faang.school.projectservice.jpa.ProjectJpaRepository;
 import faang.school.projectservice.mapper.project.ProjectMapper;
 import faang.school.projectservice.model.Moment;
 import faang.school.projectservice.model.Project;
@@ -24,11 +30,15 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -36,6 +46,8 @@ import static org.mockito.Mockito.*;
 class ProjectServiceTest {
     @Mock
     private ProjectRepository projectRepository;
+    @Mock
+    private ProjectJpaRepository projectJpaRepository;
     @Spy
     private ProjectMapper projectMapper = Mappers.getMapper(ProjectMapper.class);
     @Mock
@@ -44,6 +56,15 @@ class ProjectServiceTest {
     private ProjectFilterDto projectFilterDto;
     @Mock
     private MomentRepository momentRepository;
+    @Mock
+    private ProjectMembershipResolver projectMembershipResolver;
+    @Mock
+    private ProjectFilterService projectFilterService;
+    @Mock
+    private ProjectHierarchyService projectHierarchyService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     @InjectMocks
     private ProjectServiceImpl projectService;
@@ -102,16 +123,38 @@ class ProjectServiceTest {
         testProject.setVisibility(ProjectVisibility.PUBLIC);
 
         when(projectRepository.getProjectById(anyLong())).thenReturn(testProject);
+        when(projectJpaRepository.findDescendants(anyLong())).thenReturn(List.of(
+                treeNode(2L, ProjectStatus.COMPLETED, ProjectVisibility.PUBLIC),
+                treeNode(3L, ProjectStatus.COMPLETED, ProjectVisibility.PRIVATE)));
+        when(projectHierarchyService.propagateVisibility(testProject.getId(), ProjectVisibility.PRIVATE))
+                .thenReturn(List.of(2L));
         when(momentRepository.save(any(Moment.class))).thenReturn(moment);
 
         ProjectDto resultDto = projectService.updateSubProject(testProject.getId(), updateSubProjectDto);
+
+        verify(projectHierarchyService).propagateVisibility(testProject.getId(), ProjectVisibility.PRIVATE);
+        assertEquals(ProjectStatus.COMPLETED, resultDto.getStatus());
     }
 
     @Test
-    public void testThrowDataValidationExceptionWhenSubProjectsStatusNotCompleted() {
-        testProject.setChildren(Arrays.asList(new Project(), new Project()));
+    public void testCancelProjectPropagatesStatusToSubprojects() {
+        updateSubProjectDto.setStatus(ProjectStatus.CANCELLED);
+        updateSubProjectDto.setVisibility(ProjectVisibility.PUBLIC);
+        when(projectRepository.getProjectById(anyLong())).thenReturn(testProject);
+
+        ProjectDto resultDto = projectService.updateSubProject(testProject.getId(), updateSubProjectDto);
 
+        verify(projectHierarchyService).propagateStatus(testProject.getId(), ProjectStatus.CANCELLED);
+        verify(projectHierarchyService, never()).propagateVisibility(anyLong(), any());
+        assertEquals(ProjectStatus.CANCELLED, resultDto.getStatus());
+    }
+
+    @Test
+    public void testThrowDataValidationExceptionWhenSubProjectsStatusNotCompleted() {
         when(projectRepository.getProjectById(anyLong())).thenReturn(testProject);
+        when(projectJpaRepository.findDescendants(anyLong())).thenReturn(List.of(
+                treeNode(2L, ProjectStatus.COMPLETED, ProjectVisibility.PUBLIC),
+                treeNode(3L, ProjectStatus.IN_PROGRESS, ProjectVisibility.PUBLIC)));
 
         assertThrows(DataValidationException.class,
                 () -> projectService.updateSubProject(testProject.getId(), updateSubProjectDto));
@@ -138,8 +181,9 @@ class ProjectServiceTest {
                 .build();
 
         Stream<ProjectFilter> filterStream = Stream.of(new ProjectStatusFilter());
-        when(projectRepository.getProjectById(anyLong())).thenReturn(testParentProject);
+        when(projectRepository.getProjectWithChildrenById(anyLong())).thenReturn(testParentProject);
         when(filters.stream()).thenReturn(filterStream);
+        when(projectMembershipResolver.isVisible(any(Project.class))).thenReturn(true);
 
         List<ProjectDto> actualSubProjects =
                 projectService.getFilteredSubProjects(testParentProject.getId(), projectFilterDto);
@@ -151,8 +195,108 @@ class ProjectServiceTest {
     @Test
     public void testFilteredSubProjectsThrowDataValidationException() {
         testProject.setVisibility(ProjectVisibility.PRIVATE);
-        when(projectRepository.getProjectById(anyLong())).thenReturn(testProject);
+        when(projectRepository.getProjectWithChildrenById(anyLong())).thenReturn(testProject);
+        when(projectMembershipResolver.isVisible(testProject)).thenReturn(false);
         assertThrows(DataValidationException.class,
                 () -> projectService.getFilteredSubProjects(testProject.getId(), projectFilterDto));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testKeysetPageReturnsTokenForNextPage() {
+        List<Project> projects = List.of(
+                Project.builder().id(1L).build(),
+                Project.builder().id(2L).build(),
+                Project.builder().id(3L).build());
+        when(projectFilterService.findAllAfterId(any(ProjectFilterDto.class), eq(0L), eq(3))).thenReturn(projects);
+        when(projectFilterService.findAllAfterId(any(ProjectFilterDto.class), eq(2L), eq(3))).thenReturn(List.of());
+
+        ProjectPageDto firstPage = projectService.getPage(null, 2, null);
+        ProjectPageDto secondPage = projectService.getPage(null, 2, firstPage.getNextPageToken());
+
+        assertEquals(2, firstPage.getContent().size());
+        assertNotNull(firstPage.getNextPageToken());
+        assertTrue(secondPage.getContent().isEmpty());
+        assertNull(secondPage.getNextPageToken());
+    }
+
+    @Test
+    public void testKeysetPageRejectsInvalidToken() {
+        assertThrows(DataValidationException.class, () -> projectService.getPage(null, 2, "not-a-token"));
+    }
+
+    @Test
+    public void testDescendantsSkipPrivateSubProjects() {
+        Project visibleSubProject = Project.builder().id(2L).visibility(ProjectVisibility.PUBLIC).build();
+        Project hiddenSubProject = Project.builder().id(3L).visibility(ProjectVisibility.PRIVATE).build();
+        when(projectRepository.getProjectById(anyLong())).thenReturn(testProject);
+        when(projectJpaRepository.findDescendantProjects(anyLong()))
+                .thenReturn(List.of(visibleSubProject, hiddenSubProject));
+        when(projectMembershipResolver.isVisible(testProject)).thenReturn(true);
+        when(projectMembershipResolver.isVisible(visibleSubProject)).thenReturn(true);
+        when(projectMembershipResolver.isVisible(hiddenSubProject)).thenReturn(false);
+
+        List<ProjectDto> descendants = projectService.getDescendants(testProject.getId());
+
+        assertEquals(List.of(2L), descendants.stream().map(ProjectDto::getId).toList());
+    }
+
+    @Test
+    void testStreamAllWritesVisibleRowsWithChildrenFromOneQuery() throws IOException {
+        ProjectExportRow parent = exportRow(1L, ProjectVisibility.PUBLIC);
+        ProjectExportRow hidden = exportRow(2L, ProjectVisibility.PRIVATE);
+        when(projectJpaRepository.streamAll()).thenReturn(Stream.of(parent, hidden));
+        when(projectMembershipResolver.isVisible(1L, ProjectVisibility.PUBLIC)).thenReturn(true);
+        when(projectMembershipResolver.isVisible(2L, ProjectVisibility.PRIVATE)).thenReturn(false);
+        ProjectChildLink child = mock(ProjectChildLink.class);
+        when(child.getParentProjectId()).thenReturn(1L);
+        when(child.getId()).thenReturn(3L);
+        when(projectJpaRepository.findChildLinks(List.of(1L))).thenReturn(List.of(child));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        projectService.streamAll(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        ProjectDto projectDto = objectMapper.readValue(lines[0], ProjectDto.class);
+        assertEquals(1L, projectDto.getId());
+        assertEquals(List.of(3L), projectDto.getChildren());
+        verify(projectJpaRepository, times(1)).findChildLinks(any());
+    }
+
+    private ProjectExportRow exportRow(long id, ProjectVisibility visibility) {
+        ProjectExportRow row = mock(ProjectExportRow.class);
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getVisibility()).thenReturn(visibility);
+        lenient().when(row.getStatus()).thenReturn(ProjectStatus.IN_PROGRESS);
+        return row;
+    }
+
+    private ProjectTreeNode treeNode(long id, ProjectStatus status, ProjectVisibility visibility) {
+        return new ProjectTreeNode() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getParentProjectId() {
+                return 1L;
+            }
+
+            @Override
+            public ProjectStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public ProjectVisibility getVisibility() {
+                return visibility;
+            }
+
+            @Override
+            public Integer getDepth() {
+                return 1;
+            }
+        };
+    }
+}
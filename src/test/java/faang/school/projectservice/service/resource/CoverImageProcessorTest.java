@@ -0,0 +1,116 @@
+package faang.school.projectservice.service.resource;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import faang.school.projectservice.jpa.ResourceRepository;
+import faang.school.projectservice.model.Resource;
+import faang.school.projectservice.model.ResourceStatus;
+import faang.school.projectservice.service.s3.S3Service;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CoverImageProcessorTest {
+    @Mock
+    private ResourceRepository resourceRepository;
+    @Mock
+    private S3Service s3Service;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CoverImageProcessor coverImageProcessor;
+    private Resource resource;
+
+    @BeforeEach
+    void init() {
+        coverImageProcessor = new CoverImageProcessor(resourceRepository, s3Service, meterRegistry,
+                List.of(100, 16, 32), 1, 1);
+        resource = Resource.builder()
+                .id(1L)
+                .key("covering-images/1/cover.png_raw")
+                .status(ResourceStatus.PENDING)
+                .build();
+        lenient().when(resourceRepository.findById(1L)).thenReturn(Optional.of(resource));
+    }
+
+    @AfterEach
+    void shutdown() {
+        coverImageProcessor.shutdown();
+    }
+
+    @Test
+    void testRenditionsAreStoredUnderContentHash() throws IOException {
+        when(s3Service.exists(any())).thenReturn(false);
+
+        coverImageProcessor.process(1L, png(400, 200), "image/png");
+
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(s3Service, times(3)).putFile(keyCaptor.capture(), any(byte[].class), any(ObjectMetadata.class));
+        String folder = keyCaptor.getValue().substring(0, keyCaptor.getValue().lastIndexOf('/') + 1);
+        assertEquals(List.of(folder + "16.png", folder + "32.png", folder + "100.png"), keyCaptor.getAllValues());
+        assertTrue(folder.startsWith("covering-images/renditions/"));
+        assertEquals(folder + "100.png", resource.getKey());
+        verify(s3Service).deleteFile("covering-images/1/cover.png_raw");
+        verify(resourceRepository).save(resource);
+        assertEquals(ResourceStatus.ACTIVE, resource.getStatus());
+    }
+
+    @Test
+    void testIdenticalImageReusesRenditions() throws IOException {
+        when(s3Service.exists(any())).thenReturn(true);
+        ObjectMetadata coverMetadata = new ObjectMetadata();
+        coverMetadata.setContentLength(42);
+        when(s3Service.getFileMetadata(any())).thenReturn(coverMetadata);
+
+        coverImageProcessor.process(1L, png(400, 200), "image/png");
+
+        verify(s3Service, never()).putFile(any(), any(byte[].class), any(ObjectMetadata.class));
+        assertEquals(BigInteger.valueOf(42), resource.getSize());
+        assertEquals(3.0, meterRegistry.counter("cover_image.renditions.reused").count());
+        assertEquals(ResourceStatus.ACTIVE, resource.getStatus());
+    }
+
+    @Test
+    void testClosestRenditionIsChosen() {
+        String coverKey = "covering-images/renditions/abc/100.png";
+
+        assertEquals("covering-images/renditions/abc/32.png", coverImageProcessor.chooseRenditionKey(coverKey, 20));
+        assertEquals("covering-images/renditions/abc/100.png", coverImageProcessor.chooseRenditionKey(coverKey, 500));
+    }
+
+    @Test
+    void testBrokenImageMarksResourceFailed() {
+        coverImageProcessor.process(1L, new byte[]{1, 2, 3}, "image/png");
+
+        verify(s3Service, never()).putFile(any(), any(byte[].class), any(ObjectMetadata.class));
+        assertEquals(ResourceStatus.FAILED, resource.getStatus());
+        assertEquals(1.0, meterRegistry.counter("cover_image.processed", "result", "failure").count());
+    }
+
+    private byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,88 @@
+package faang.school.projectservice.service.resource;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import faang.school.projectservice.jpa.ProjectJpaRepository;
+import faang.school.projectservice.jpa.ResourceRepository;
+import faang.school.projectservice.model.Resource;
+import faang.school.projectservice.model.ResourceStatus;
+import faang.school.projectservice.service.s3.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceServiceImplTest {
+    private static final String COVER_KEY = "covering-images/renditions/abc/1080.png";
+    private static final String RENDITION_KEY = "covering-images/renditions/abc/256.png";
+
+    @Mock
+    private ResourceRepository resourceRepository;
+    @Mock
+    private ProjectJpaRepository projectJpaRepository;
+    @Mock
+    private S3Service s3Service;
+    @Mock
+    private CoverImageProcessor coverImageProcessor;
+
+    @InjectMocks
+    private ResourceServiceImpl resourceService;
+
+    @BeforeEach
+    void init() {
+        Resource resource = Resource.builder()
+                .id(1L)
+                .key(COVER_KEY)
+                .status(ResourceStatus.ACTIVE)
+                .build();
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(resource));
+        when(coverImageProcessor.isRendition(COVER_KEY)).thenReturn(true);
+        when(coverImageProcessor.chooseRenditionKey(COVER_KEY, 200)).thenReturn(RENDITION_KEY);
+    }
+
+    @Test
+    void testGetCoveringImageRenditionNotModified() {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.setIfNoneMatch("\"" + RENDITION_KEY + "\"");
+
+        ResponseEntity<StreamingResponseBody> response = resourceService.getCoveringImageRendition(1L, 200, requestHeaders);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"" + RENDITION_KEY + "\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(s3Service, never()).getFileMetadata(any());
+        verify(s3Service, never()).getFile(any());
+    }
+
+    @Test
+    void testGetCoveringImageRenditionWithStaleETag() {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.setIfNoneMatch("\"covering-images/renditions/old/256.png\"");
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(42);
+        metadata.setContentType("image/png");
+        when(s3Service.getFileMetadata(RENDITION_KEY)).thenReturn(metadata);
+
+        ResponseEntity<StreamingResponseBody> response = resourceService.getCoveringImageRendition(1L, 200, requestHeaders);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(42, response.getHeaders().getContentLength());
+        assertNotNull(response.getBody());
+    }
+}
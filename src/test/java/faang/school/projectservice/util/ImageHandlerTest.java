@@ -0,0 +1,49 @@
+package faang.school.projectservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImageHandlerTest {
+
+    @Test
+    void testReadDimensionsFromHeader() throws IOException {
+        Dimension dimension = ImageHandler.readDimensions(jpeg(3000, 2000));
+
+        assertEquals(new Dimension(3000, 2000), dimension);
+    }
+
+    @Test
+    void testLargeImageIsDecodedSubsampled() throws IOException {
+        BufferedImage image = ImageHandler.readSubsampled(jpeg(3000, 2000), 1000);
+
+        assertEquals(1000, image.getWidth());
+        assertEquals(667, image.getHeight());
+    }
+
+    @Test
+    void testSmallImageIsDecodedAsIs() throws IOException {
+        BufferedImage image = ImageHandler.readSubsampled(jpeg(800, 600), 1080);
+
+        assertEquals(800, image.getWidth());
+        assertEquals(600, image.getHeight());
+    }
+
+    @Test
+    void testUnknownFormatIsRejected() {
+        assertThrows(IOException.class, () -> ImageHandler.readDimensions(new byte[]{1, 2, 3}));
+    }
+
+    private byte[] jpeg(int width, int height) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpeg", outputStream);
+        return outputStream.toByteArray();
+    }
+}
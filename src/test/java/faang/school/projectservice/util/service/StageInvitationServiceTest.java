@@ -1,6 +1,7 @@
 package faang.school.projectservice.util.service;
 
 import faang.school.projectservice.dto.StageInvitationDto;
+import faang.school.projectservice.dto.StageInvitationViewDto;
 import faang.school.projectservice.mapper.StageInvitationMapper;
 import faang.school.projectservice.model.TeamMember;
 import faang.school.projectservice.model.stage_invitation.StageInvitation;
@@ -10,12 +11,13 @@ import faang.school.projectservice.service.TeamMemberService;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 
@@ -35,8 +37,6 @@ public class StageInvitationServiceTest {
     private TeamMemberService teamMemberService;
     @InjectMocks
     private StageInvitationService stageInvitationService;
-    @Captor
-    private ArgumentCaptor<List<StageInvitation>> captor;
 
     private StageInvitation invitation;
     private StageInvitationDto stageInvitationDto;
@@ -77,29 +77,17 @@ public class StageInvitationServiceTest {
 
     @Test
     void testGetAll() {
-        StageInvitation firstStageInvitation = new StageInvitation();
-        firstStageInvitation.setId(1L);
+        List<StageInvitationViewDto> testList = List.of(
+                StageInvitationViewDto.builder().id(1L).invitedUserId(1L).build(),
+                StageInvitationViewDto.builder().id(2L).invitedUserId(1L).build());
+        Pageable pageable = PageRequest.of(0, 20);
 
-        StageInvitation secondStageInvitation = new StageInvitation();
-        secondStageInvitation.setId(2L);
+        when(stageInvitationRepository.findAllViews(any(Specification.class), Mockito.eq(pageable))).thenReturn(testList);
 
-        TeamMember firstMember = new TeamMember();
-        firstMember.setUserId(1L);
+        List<StageInvitationViewDto> invitations = stageInvitationService.getAll(1L, null, pageable);
 
-        TeamMember secondMember = new TeamMember();
-        secondMember.setUserId(1L);
-
-        firstStageInvitation.setInvited(firstMember);
-        secondStageInvitation.setInvited(secondMember);
-
-        List testList = List.of(firstStageInvitation, secondStageInvitation);
-
-        when(stageInvitationRepository.findAll()).thenReturn(testList);
-
-        List<StageInvitationDto> invitations = stageInvitationService.getAll(1L, null);
-        Mockito.verify(stageInvitationMapper, times(1)).toDtoList(captor.capture());
-
-        Assert.assertEquals(2, captor.getValue().size());
+        Assert.assertEquals(2, invitations.size());
+        Mockito.verify(stageInvitationMapper, Mockito.never()).toDtoList(any());
     }
 
 }